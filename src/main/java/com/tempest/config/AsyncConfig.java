@@ -0,0 +1,109 @@
+package com.tempest.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executors for work that is handed off from request threads.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    /**
+     * Worker pool for the post-persist ingest stages.
+     * The queue is bounded; when it is full the submitting thread waits for room, which slows
+     * producers down instead of dropping work. Readings are committed before their stages are
+     * submitted, so a waiting producer holds no database connection the workers might need.
+     * The stages never run on the submitting thread, where they could end up joining a
+     * transaction that has already committed and lose their writes.
+     */
+    @Bean(name = "ingestExecutor")
+    public ThreadPoolTaskExecutor ingestExecutor(
+            @Value("${tempest.ingest.workers:2}") int workers,
+            @Value("${tempest.ingest.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("ingest-");
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new WaitForQueuePolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * Worker pool for delivering queued notifications over SMTP and Twilio.
+     * Submissions beyond the queue capacity are rejected; the dispatcher leaves those
+     * jobs in the outbox for a later drain, so delivery never runs on the submitting thread.
+     */
+    @Bean(name = "notificationExecutor")
+    public ThreadPoolTaskExecutor notificationExecutor(
+            @Value("${tempest.notification.outbox.workers:2}") int workers,
+            @Value("${tempest.notification.outbox.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("notify-");
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * Single thread that fans committed readings out to live stream subscribers.
+     * One thread keeps updates in ingest order; a full queue makes the committing thread wait.
+     */
+    @Bean(name = "streamExecutor")
+    public ThreadPoolTaskExecutor streamExecutor(
+            @Value("${tempest.stream.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("stream-");
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new WaitForQueuePolicy());
+        return executor;
+    }
+
+    /**
+     * Single background thread for long-running maintenance jobs such as rollup backfills.
+     */
+    @Bean(name = "maintenanceExecutor")
+    public ThreadPoolTaskExecutor maintenanceExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("maintenance-");
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        return executor;
+    }
+
+    /**
+     * Rejection policy that makes the submitting thread wait until the queue has room.
+     * Tasks are rejected only once the executor is shut down.
+     */
+    static final class WaitForQueuePolicy implements RejectedExecutionHandler {
+
+        @Override
+        public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("Executor has been shut down");
+            }
+            try {
+                executor.getQueue().put(task);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted while waiting for room in the queue", e);
+            }
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.tempest.entity.WeatherReading;
 import com.tempest.entity.WeatherStation;
 import com.tempest.repository.WeatherReadingRepository;
 import com.tempest.repository.WeatherStationRepository;
+import com.tempest.service.RollupService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
@@ -11,6 +12,8 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.UUID;
 
@@ -26,6 +29,7 @@ public class DataInitializer implements CommandLineRunner {
 
     private final WeatherStationRepository stationRepository;
     private final WeatherReadingRepository readingRepository;
+    private final RollupService rollupService;
 
     @Override
     public void run(String... args) {
@@ -56,6 +60,7 @@ public class DataInitializer implements CommandLineRunner {
         // Generate sample readings for the last 24 hours
         Random random = new Random();
         LocalDateTime now = LocalDateTime.now();
+        List<WeatherReading> readings = new ArrayList<>();
         
         for (int i = 0; i < 48; i++) { // One reading every 30 minutes
             LocalDateTime timestamp = now.minusMinutes(i * 30L);
@@ -79,8 +84,9 @@ public class DataInitializer implements CommandLineRunner {
                     .batteryVoltage(3.5 + random.nextDouble() * 0.7)
                     .build();
             
-            readingRepository.save(reading);
+            readings.add(readingRepository.save(reading));
         }
+        rollupService.apply(readings);
         
         log.info("Created 48 sample weather readings");
     }
@@ -1,18 +1,38 @@
 package com.tempest.controller.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tempest.dto.ApiResponse;
+import com.tempest.dto.ExportFormat;
+import com.tempest.dto.ReadingDeletionJobDTO;
+import com.tempest.dto.ReadingPageDTO;
 import com.tempest.dto.WeatherReadingDTO;
 import com.tempest.dto.WeatherStatsDTO;
+import com.tempest.entity.WeatherMetric;
 import com.tempest.entity.WeatherReading;
+import com.tempest.service.ColumnarReadingEncoder;
+import com.tempest.service.ReadingDeletionService;
+import com.tempest.service.ReadingStreamPublisher;
 import com.tempest.service.WeatherService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST API controller for weather data operations.
@@ -25,7 +45,22 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class WeatherApiController {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * Most points a downsampled chart series may ask for; LTTB needs at least three.
+     */
+    private static final int MAX_CHART_POINTS = 10_000;
+
+    private static final LocalDateTime EXPORT_EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
     private final WeatherService weatherService;
+    private final ReadingStreamPublisher readingStreamPublisher;
+    private final ReadingDeletionService readingDeletionService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${tempest.ingest.max-batch-size:1000}")
+    private int maxBatchSize;
 
     /**
      * POST endpoint to receive weather readings from the station.
@@ -61,6 +96,39 @@ public class WeatherApiController {
         }
     }
 
+    /**
+     * POST endpoint to receive a batch of readings, e.g. buffered by a station while offline.
+     * Accepts a JSON array of the same payload used by {@code /reading}.
+     */
+    @PostMapping("/readings/batch")
+    public ResponseEntity<ApiResponse<Integer>> postReadings(
+            @RequestBody List<@Valid WeatherReadingDTO> readings) {
+        log.info("Received batch of {} weather readings", readings.size());
+
+        if (readings.isEmpty()) {
+            return ResponseEntity
+                    .badRequest()
+                    .body(ApiResponse.error("Batch must contain at least one reading"));
+        }
+        if (readings.size() > maxBatchSize) {
+            return ResponseEntity
+                    .badRequest()
+                    .body(ApiResponse.error("Batch exceeds maximum size of " + maxBatchSize));
+        }
+
+        try {
+            List<WeatherReading> saved = weatherService.recordReadings(readings);
+            return ResponseEntity
+                    .status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("Recorded " + saved.size() + " readings", saved.size()));
+        } catch (Exception e) {
+            log.error("Error recording reading batch", e);
+            return ResponseEntity
+                    .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to record readings: " + e.getMessage()));
+        }
+    }
+
     /**
      * GET the latest weather reading.
      */
@@ -94,15 +162,152 @@ public class WeatherApiController {
 
     /**
      * GET readings for a station for the last N hours.
+     * With maxPoints the series is downsampled server-side (LTTB on the given metric),
+     * which bounds the payload regardless of the requested range.
      */
     @GetMapping("/history/{stationId}")
     public ResponseEntity<ApiResponse<List<WeatherReading>>> getStationHistory(
             @PathVariable String stationId,
-            @RequestParam(defaultValue = "24") int hours) {
-        List<WeatherReading> readings = weatherService.getReadingsForStation(stationId, hours);
+            @RequestParam(defaultValue = "24") int hours,
+            @RequestParam(required = false) @Min(3) @Max(MAX_CHART_POINTS) Integer maxPoints,
+            @RequestParam(defaultValue = "TEMPERATURE") WeatherMetric metric) {
+        List<WeatherReading> readings = maxPoints != null
+                ? weatherService.getReadingsForStation(stationId, hours, maxPoints, metric)
+                : weatherService.getReadingsForStation(stationId, hours);
         return ResponseEntity.ok(ApiResponse.success(readings));
     }
 
+    /**
+     * GET readings for the last N hours in the compact columnar binary format.
+     * Selected when the client sends {@code Accept: application/x-tempest-columnar}.
+     */
+    @GetMapping(value = "/history", produces = ColumnarReadingEncoder.MEDIA_TYPE)
+    public ResponseEntity<byte[]> getHistoryColumnar(
+            @RequestParam(defaultValue = "24") int hours) {
+        List<WeatherReading> readings = weatherService.getReadingsForLastHours(hours);
+        return columnar(readings);
+    }
+
+    /**
+     * GET readings for a station in the compact columnar binary format.
+     * Accepts the same parameters as the JSON variant, including downsampling.
+     */
+    @GetMapping(value = "/history/{stationId}", produces = ColumnarReadingEncoder.MEDIA_TYPE)
+    public ResponseEntity<byte[]> getStationHistoryColumnar(
+            @PathVariable String stationId,
+            @RequestParam(defaultValue = "24") int hours,
+            @RequestParam(required = false) @Min(3) @Max(MAX_CHART_POINTS) Integer maxPoints,
+            @RequestParam(defaultValue = "TEMPERATURE") WeatherMetric metric) {
+        List<WeatherReading> readings = maxPoints != null
+                ? weatherService.getReadingsForStation(stationId, hours, maxPoints, metric)
+                : weatherService.getReadingsForStation(stationId, hours);
+        return columnar(readings);
+    }
+
+    /**
+     * GET chart series for several stations with one query, e.g. ?stationIds=a,b&hours=24&maxPoints=500.
+     * Each station's series is downsampled separately when maxPoints is given.
+     */
+    @GetMapping(value = "/history", params = "stationIds")
+    public ResponseEntity<ApiResponse<Map<String, List<WeatherReading>>>> getStationsHistory(
+            @RequestParam List<String> stationIds,
+            @RequestParam(defaultValue = "24") int hours,
+            @RequestParam(required = false) @Min(3) @Max(MAX_CHART_POINTS) Integer maxPoints,
+            @RequestParam(defaultValue = "TEMPERATURE") WeatherMetric metric) {
+        return ResponseEntity.ok(ApiResponse.success(
+                weatherService.getReadingsForStations(stationIds, hours, pointLimit(maxPoints), metric)));
+    }
+
+    /**
+     * GET chart series for several stations as one columnar bundle.
+     */
+    @GetMapping(value = "/history", params = "stationIds", produces = ColumnarReadingEncoder.MEDIA_TYPE)
+    public ResponseEntity<byte[]> getStationsHistoryColumnar(
+            @RequestParam List<String> stationIds,
+            @RequestParam(defaultValue = "24") int hours,
+            @RequestParam(required = false) @Min(3) @Max(MAX_CHART_POINTS) Integer maxPoints,
+            @RequestParam(defaultValue = "TEMPERATURE") WeatherMetric metric) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(ColumnarReadingEncoder.MEDIA_TYPE))
+                .body(ColumnarReadingEncoder.encodeBundle(
+                        weatherService.getReadingsForStations(stationIds, hours, pointLimit(maxPoints), metric)));
+    }
+
+    /**
+     * GET a page of readings, newest first.
+     * Pass the returned nextCursor to fetch the following page; deep pages cost the same as the first.
+     */
+    @GetMapping("/readings")
+    public ResponseEntity<ApiResponse<ReadingPageDTO>> getReadings(
+            @RequestParam(required = false) String stationId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity
+                    .badRequest()
+                    .body(ApiResponse.error("Page size must be between 1 and " + MAX_PAGE_SIZE));
+        }
+        try {
+            return ResponseEntity.ok(ApiResponse.success(weatherService.getReadingsPage(stationId, cursor, size)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity
+                    .badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * GET an export of readings as CSV or NDJSON, streamed straight from a database cursor.
+     * Example: /api/weather/export?stationId=station-01&from=2024-01-01T00:00:00&format=ndjson
+     * An unsupported format gets a 400 with the usual error envelope.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportReadings(
+            @RequestParam(required = false) String stationId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "csv") String format) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.fromString(format);
+        } catch (IllegalArgumentException e) {
+            // Streamed like an export, since Spring picks the return value handler by the declared
+            // body type, and as JSON even if the client only accepts the export formats
+            ApiResponse<Void> error = ApiResponse.error(e.getMessage());
+            return ResponseEntity
+                    .badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> objectMapper.writeValue(out, error));
+        }
+        LocalDateTime start = from != null ? from : EXPORT_EPOCH;
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        log.info("Exporting readings for station {} from {} to {} as {}", stationId, start, end, exportFormat);
+
+        StreamingResponseBody body = out -> weatherService.exportReadings(stationId, start, end, exportFormat, out);
+        String filename = "readings" + (stationId != null ? "-" + stationId : "") + "." + exportFormat.getExtension();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(filename).build().toString())
+                .body(body);
+    }
+
+    /**
+     * GET a Server-Sent Events stream of new readings, optionally for one station.
+     * Each "reading" event carries the station's newest reading and its rolling 24h stats;
+     * the current readings are sent as soon as the stream opens.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamReadings(
+            @RequestParam(required = false) String stationId) {
+        try {
+            return ResponseEntity.ok(readingStreamPublisher.subscribe(stationId));
+        } catch (IllegalStateException e) {
+            log.warn("Rejected live stream subscriber: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
     /**
      * GET weather statistics for the last N hours.
      */
@@ -124,23 +329,49 @@ public class WeatherApiController {
     /**
      * DELETE all weather readings.
      * Use with caution - this permanently deletes all data!
+     * Deletion runs in the background; poll the returned job for its progress.
      */
     @DeleteMapping("/readings")
-    public ResponseEntity<ApiResponse<String>> deleteAllReadings() {
+    public ResponseEntity<ApiResponse<ReadingDeletionJobDTO>> deleteAllReadings() {
         log.warn("Deleting ALL weather readings!");
-        long count = weatherService.deleteAllReadings();
-        return ResponseEntity.ok(ApiResponse.success("Deleted " + count + " readings"));
+        return accepted(readingDeletionService.deleteAllReadings());
     }
 
     /**
      * DELETE readings for a specific station.
+     * Deletion runs in the background; poll the returned job for its progress.
      */
     @DeleteMapping("/readings/{stationId}")
-    public ResponseEntity<ApiResponse<String>> deleteReadingsForStation(
+    public ResponseEntity<ApiResponse<ReadingDeletionJobDTO>> deleteReadingsForStation(
             @PathVariable String stationId) {
         log.warn("Deleting readings for station: {}", stationId);
-        long count = weatherService.deleteReadingsForStation(stationId);
-        return ResponseEntity.ok(ApiResponse.success("Deleted " + count + " readings for station " + stationId));
+        return accepted(readingDeletionService.deleteReadingsForStation(stationId));
     }
-}
 
+    /**
+     * GET the progress of a reading deletion job.
+     */
+    @GetMapping("/readings/jobs/{jobId}")
+    public ResponseEntity<ApiResponse<ReadingDeletionJobDTO>> getDeletionJob(@PathVariable String jobId) {
+        return readingDeletionService.getJob(jobId)
+                .map(job -> ResponseEntity.ok(ApiResponse.success(job)))
+                .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("Deletion job not found: " + jobId)));
+    }
+
+    private static ResponseEntity<ApiResponse<ReadingDeletionJobDTO>> accepted(ReadingDeletionJobDTO job) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/weather/readings/jobs/" + job.getJobId()))
+                .body(ApiResponse.success("Deletion job " + job.getStatus().name().toLowerCase(), job));
+    }
+
+    private static int pointLimit(Integer maxPoints) {
+        return maxPoints != null ? maxPoints : Integer.MAX_VALUE;
+    }
+
+    private static ResponseEntity<byte[]> columnar(List<WeatherReading> readings) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(ColumnarReadingEncoder.MEDIA_TYPE))
+                .body(ColumnarReadingEncoder.encode(readings));
+    }
+}
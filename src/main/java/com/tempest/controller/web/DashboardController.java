@@ -1,14 +1,26 @@
 package com.tempest.controller.web;
 
+import com.tempest.dto.ReadingPageDTO;
+import com.tempest.dto.StationDashboardDTO;
+import com.tempest.entity.WeatherMetric;
 import com.tempest.entity.WeatherReading;
+import com.tempest.entity.WeatherStation;
+import com.tempest.service.DashboardCache;
 import com.tempest.service.WeatherService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -18,25 +30,34 @@ import java.util.List;
 @RequiredArgsConstructor
 public class DashboardController {
 
+    private static final int HISTORY_PAGE_SIZE = 100;
+
     private final WeatherService weatherService;
+    private final DashboardCache dashboardCache;
+
+    /**
+     * Upper bound on points per chart series rendered into the page.
+     */
+    @Value("${tempest.charts.max-points:500}")
+    private int chartMaxPoints;
 
     @GetMapping("/")
-    public String dashboard(Model model) {
-        // Fractal station data
-        weatherService.getLatestReadingForStation("fractal").ifPresent(reading ->
-            model.addAttribute("fractalCurrent", reading)
-        );
-        model.addAttribute("fractalHistory", weatherService.getReadingsForStation("fractal", 24));
-        model.addAttribute("fractalStats24h", weatherService.getStatsForStation("fractal", 24));
-        model.addAttribute("fractalStats7d", weatherService.getStatsForStation("fractal", 168));
+    public String dashboard(WebRequest request, HttpServletResponse response, Model model) {
+        List<WeatherStation> activeStations = new ArrayList<>(weatherService.getActiveStations());
+        activeStations.sort(Comparator.comparing(WeatherStation::getName, String.CASE_INSENSITIVE_ORDER));
+        List<StationDashboardDTO> stations = dashboardCache.get(activeStations);
 
-        // RussMonsta station data
-        weatherService.getLatestReadingForStation("RussMonsta-House").ifPresent(reading ->
-            model.addAttribute("russmonstaoCurrent", reading)
-        );
-        model.addAttribute("russmonstaHistory", weatherService.getReadingsForStation("RussMonsta-House", 24));
-        model.addAttribute("russmonstaStats24h", weatherService.getStatsForStation("RussMonsta-House", 24));
-        model.addAttribute("russmonstaStats7d", weatherService.getStatsForStation("RussMonsta-House", 168));
+        // Unchanged since the browser's copy: answer 304 without rendering
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        if (request.checkNotModified(dashboardCache.etag(stations),
+                dashboardCache.lastModified(stations).toEpochMilli())) {
+            return null;
+        }
+
+        model.addAttribute("stations", stations);
+
+        // Chart series are fetched by the page in the columnar format
+        model.addAttribute("chartMaxPoints", chartMaxPoints);
 
         return "dashboard";
     }
@@ -51,16 +72,25 @@ public class DashboardController {
             model.addAttribute("current", reading)
         );
 
-        List<WeatherReading> history = weatherService.getReadingsForStation(stationId, 24);
+        List<WeatherReading> history = weatherService.getReadingsForStation(
+                stationId, 24, chartMaxPoints, WeatherMetric.TEMPERATURE);
         model.addAttribute("history", history);
 
         return "station-detail";
     }
 
     @GetMapping("/history")
-    public String history(Model model) {
-        List<WeatherReading> readings = weatherService.getReadingsForLastHoursDesc(168); // 7 days, most recent first
-        model.addAttribute("readings", readings);
+    public String history(@RequestParam(required = false) String cursor, Model model) {
+        ReadingPageDTO page;
+        try {
+            page = weatherService.getReadingsPage(null, cursor, HISTORY_PAGE_SIZE);
+        } catch (IllegalArgumentException e) {
+            // Stale or hand-edited cursor: start again from the newest readings
+            page = weatherService.getReadingsPage(null, null, HISTORY_PAGE_SIZE);
+        }
+        model.addAttribute("readings", page.getReadings());
+        model.addAttribute("nextCursor", page.getNextCursor());
+        model.addAttribute("firstPage", cursor == null);
         return "history";
     }
 
@@ -0,0 +1,42 @@
+package com.tempest.dto;
+
+import java.util.Locale;
+
+/**
+ * File formats supported by the readings export.
+ */
+public enum ExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Parse a format name case-insensitively.
+     *
+     * @param value the format name, e.g. "csv"
+     * @return the matching format
+     * @throws IllegalArgumentException if the format is not supported
+     */
+    public static ExportFormat fromString(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported export format: " + value);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.tempest.dto;
+
+import com.tempest.entity.WeatherReading;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Update pushed to live stream subscribers when a station reports a new reading.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiveReadingDTO {
+
+    private String stationId;
+
+    /**
+     * The station's newest reading, temperature in °F.
+     */
+    private WeatherReading reading;
+
+    /**
+     * The station's rolling 24-hour statistics including this reading.
+     */
+    private WeatherStatsDTO stats24h;
+}
@@ -0,0 +1,59 @@
+package com.tempest.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a background job deleting the readings of one station or of all stations.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReadingDeletionJobDTO {
+
+    private String jobId;
+
+    /**
+     * Station whose readings are deleted, or null if all readings are deleted.
+     */
+    private String stationId;
+
+    private Status status;
+
+    /**
+     * Readings to delete, counted when the job started.
+     */
+    private Long totalReadings;
+
+    private long deletedReadings;
+
+    private long deletedRollups;
+
+    /**
+     * Share of the readings deleted so far, from 0 to 100.
+     */
+    private Integer percentComplete;
+
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    /**
+     * Failure reason of a failed job.
+     */
+    private String error;
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
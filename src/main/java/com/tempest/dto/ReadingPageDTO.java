@@ -0,0 +1,62 @@
+package com.tempest.dto;
+
+import com.tempest.entity.WeatherReading;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * One page of readings in descending (timestamp, id) order, with a cursor for the next page.
+ * Cursors encode the position of the last reading, so every page costs the same to fetch.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReadingPageDTO {
+
+    private List<WeatherReading> readings;
+
+    /**
+     * Opaque cursor for the next (older) page, or null if this is the last page.
+     */
+    private String nextCursor;
+
+    /**
+     * Encode the keyset position of a reading as an opaque cursor.
+     */
+    public static String encodeCursor(WeatherReading reading) {
+        String position = reading.getTimestamp() + "_" + reading.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor into its timestamp and ID.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static Cursor decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.lastIndexOf('_');
+            return new Cursor(
+                    LocalDateTime.parse(position.substring(0, separator)),
+                    Long.parseLong(position.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Keyset position of a reading.
+     */
+    public record Cursor(LocalDateTime timestamp, Long id) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.tempest.dto;
+
+import com.tempest.entity.WeatherReading;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Everything the dashboard renders for one station, as cached between page views.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StationDashboardDTO {
+
+    private String stationId;
+
+    /**
+     * Display name of the station.
+     */
+    private String name;
+
+    /**
+     * The station's newest reading (°F), or null if it has none.
+     */
+    private WeatherReading current;
+
+    private WeatherStatsDTO stats24h;
+
+    private WeatherStatsDTO stats7d;
+
+    /**
+     * When this entry was assembled.
+     */
+    private Instant loadedAt;
+
+    /**
+     * Sequence number of this entry, unique for the lifetime of the application.
+     */
+    private long version;
+}
@@ -0,0 +1,58 @@
+package com.tempest.entity;
+
+/**
+ * How an alert's metric is compared against its threshold.
+ * Windowed conditions use the alert's window length in minutes.
+ */
+public enum AlertCondition {
+    /**
+     * The latest value meets the threshold.
+     */
+    INSTANT(""),
+
+    /**
+     * Every value for at least the window length meets the threshold.
+     */
+    SUSTAINED("for %d min"),
+
+    /**
+     * The average of the values within the window meets the threshold.
+     */
+    WINDOW_AVERAGE("average over %d min"),
+
+    /**
+     * The change from the oldest to the latest value within the window meets the threshold,
+     * e.g. {@code LESS_THAN -3} on pressure over 180 minutes for a rapid pressure drop.
+     */
+    RATE_OF_CHANGE("change over %d min"),
+
+    /**
+     * The minutes since the station last reported the metric meet the threshold,
+     * e.g. {@code GREATER_THAN 30} for a station or sensor that went silent.
+     * Checked periodically rather than on ingest, since silence produces no readings.
+     */
+    NO_DATA("minutes without data");
+
+    private final String qualifier;
+
+    AlertCondition(String qualifier) {
+        this.qualifier = qualifier;
+    }
+
+    /**
+     * Whether this condition is evaluated over a time window.
+     */
+    public boolean isWindowed() {
+        return this == SUSTAINED || this == WINDOW_AVERAGE || this == RATE_OF_CHANGE;
+    }
+
+    /**
+     * Describe the condition for a window length, e.g. "average over 30 min".
+     *
+     * @param windowMinutes the window length
+     * @return the description, empty for INSTANT
+     */
+    public String describe(Integer windowMinutes) {
+        return isWindowed() ? String.format(qualifier, windowMinutes) : qualifier;
+    }
+}
@@ -0,0 +1,64 @@
+package com.tempest.entity;
+
+import jakarta.persistence.Embeddable;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running count, minimum, maximum and sum of one metric within a rollup bucket.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+public class MetricAggregate {
+
+    /**
+     * Number of readings in the bucket that reported the metric.
+     */
+    private Long samples = 0L;
+
+    private Double minimum;
+
+    private Double maximum;
+
+    private Double total = 0.0;
+
+    /**
+     * Add a single value. Null values are ignored.
+     *
+     * @param value the metric value
+     */
+    public void add(Double value) {
+        if (value == null) {
+            return;
+        }
+        samples++;
+        total += value;
+        minimum = minimum == null ? value : Math.min(minimum, value);
+        maximum = maximum == null ? value : Math.max(maximum, value);
+    }
+
+    /**
+     * Add all values of another aggregate.
+     *
+     * @param other the aggregate to merge into this one
+     */
+    public void merge(MetricAggregate other) {
+        if (other.samples == 0) {
+            return;
+        }
+        samples += other.samples;
+        total += other.total;
+        minimum = minimum == null ? other.minimum : Math.min(minimum, other.minimum);
+        maximum = maximum == null ? other.maximum : Math.max(maximum, other.maximum);
+    }
+
+    /**
+     * Get the average of the added values.
+     *
+     * @return the average, or null if no values were added
+     */
+    public Double average() {
+        return samples > 0 ? total / samples : null;
+    }
+}
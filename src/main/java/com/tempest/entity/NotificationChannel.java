@@ -0,0 +1,16 @@
+package com.tempest.entity;
+
+/**
+ * Delivery channel of a single queued notification.
+ */
+public enum NotificationChannel {
+    /**
+     * Delivered by email (HTML body).
+     */
+    EMAIL,
+
+    /**
+     * Delivered by SMS via Twilio (plain text body).
+     */
+    SMS
+}
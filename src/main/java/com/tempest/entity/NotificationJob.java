@@ -0,0 +1,114 @@
+package com.tempest.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a notification waiting in the outbox.
+ * Jobs are written in the same transaction as the alert history entry and
+ * delivered later by the notification dispatcher, with retries on failure.
+ * Pending jobs for the same recipient and channel are delivered together as one digest.
+ */
+@Entity
+@Table(name = "notification_outbox", indexes = {
+        @Index(name = "idx_outbox_status_next_attempt", columnList = "status, nextAttemptAt"),
+        @Index(name = "idx_outbox_history_id", columnList = "alertHistoryId"),
+        @Index(name = "idx_outbox_recipient", columnList = "recipient, channel")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * ID of the alert history entry this notification reports.
+     */
+    @Column(name = "alert_history_id")
+    private Long alertHistoryId;
+
+    /**
+     * ID of the alert that was triggered.
+     */
+    @Column(name = "alert_id")
+    private Long alertId;
+
+    /**
+     * Channel to deliver through.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationChannel channel;
+
+    /**
+     * Email address or E.164 phone number.
+     */
+    @Column(nullable = false)
+    private String recipient;
+
+    /**
+     * Email subject; unused for SMS.
+     */
+    private String subject;
+
+    /**
+     * Message body: HTML for email, plain text for SMS.
+     */
+    @Column(nullable = false, length = 8000)
+    private String body;
+
+    /**
+     * One-line plain text summary, used when the job is merged into a digest.
+     */
+    @Column(length = 500)
+    private String summary;
+
+    /**
+     * Current delivery state.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private NotificationStatus status = NotificationStatus.PENDING;
+
+    /**
+     * Number of delivery attempts made so far.
+     */
+    @Builder.Default
+    private Integer attempts = 0;
+
+    /**
+     * Earliest time of the next delivery attempt.
+     */
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    /**
+     * Error from the most recent failed attempt.
+     */
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.tempest.entity;
+
+/**
+ * Delivery state of a queued notification.
+ */
+public enum NotificationStatus {
+    /**
+     * Waiting for its next delivery attempt.
+     */
+    PENDING,
+
+    /**
+     * Claimed by a dispatcher worker and being delivered.
+     */
+    SENDING,
+
+    /**
+     * Delivered successfully.
+     */
+    SENT,
+
+    /**
+     * Gave up after the maximum number of attempts.
+     */
+    FAILED
+}
@@ -0,0 +1,148 @@
+package com.tempest.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity holding pre-aggregated readings of one station for five minutes, an hour or a day.
+ * Maintained incrementally as readings arrive so long-range queries avoid raw rows.
+ */
+@Entity
+@Table(name = "reading_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_rollup_bucket", columnNames = {"station_id", "granularity", "bucket_start"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReadingRollup {
+
+    /**
+     * Station ID used for readings that were recorded without one.
+     */
+    public static final String NO_STATION = "";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "station_id", nullable = false)
+    private String stationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private RollupGranularity granularity;
+
+    /**
+     * Start of the bucket (inclusive).
+     */
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    /**
+     * Number of readings in the bucket.
+     */
+    @Column(name = "reading_count", nullable = false)
+    @Builder.Default
+    private Long readingCount = 0L;
+
+    @Embedded
+    @AttributeOverride(name = "samples", column = @Column(name = "temperature_count", nullable = false))
+    @AttributeOverride(name = "minimum", column = @Column(name = "temperature_min"))
+    @AttributeOverride(name = "maximum", column = @Column(name = "temperature_max"))
+    @AttributeOverride(name = "total", column = @Column(name = "temperature_sum", nullable = false))
+    @Builder.Default
+    private MetricAggregate temperature = new MetricAggregate();
+
+    @Embedded
+    @AttributeOverride(name = "samples", column = @Column(name = "humidity_count", nullable = false))
+    @AttributeOverride(name = "minimum", column = @Column(name = "humidity_min"))
+    @AttributeOverride(name = "maximum", column = @Column(name = "humidity_max"))
+    @AttributeOverride(name = "total", column = @Column(name = "humidity_sum", nullable = false))
+    @Builder.Default
+    private MetricAggregate humidity = new MetricAggregate();
+
+    @Embedded
+    @AttributeOverride(name = "samples", column = @Column(name = "pressure_count", nullable = false))
+    @AttributeOverride(name = "minimum", column = @Column(name = "pressure_min"))
+    @AttributeOverride(name = "maximum", column = @Column(name = "pressure_max"))
+    @AttributeOverride(name = "total", column = @Column(name = "pressure_sum", nullable = false))
+    @Builder.Default
+    private MetricAggregate pressure = new MetricAggregate();
+
+    @Embedded
+    @AttributeOverride(name = "samples", column = @Column(name = "wind_speed_count", nullable = false))
+    @AttributeOverride(name = "minimum", column = @Column(name = "wind_speed_min"))
+    @AttributeOverride(name = "maximum", column = @Column(name = "wind_speed_max"))
+    @AttributeOverride(name = "total", column = @Column(name = "wind_speed_sum", nullable = false))
+    @Builder.Default
+    private MetricAggregate windSpeed = new MetricAggregate();
+
+    @Embedded
+    @AttributeOverride(name = "samples", column = @Column(name = "rainfall_count", nullable = false))
+    @AttributeOverride(name = "minimum", column = @Column(name = "rainfall_min"))
+    @AttributeOverride(name = "maximum", column = @Column(name = "rainfall_max"))
+    @AttributeOverride(name = "total", column = @Column(name = "rainfall_sum", nullable = false))
+    @Builder.Default
+    private MetricAggregate rainfall = new MetricAggregate();
+
+    @Embedded
+    @AttributeOverride(name = "samples", column = @Column(name = "uv_index_count", nullable = false))
+    @AttributeOverride(name = "minimum", column = @Column(name = "uv_index_min"))
+    @AttributeOverride(name = "maximum", column = @Column(name = "uv_index_max"))
+    @AttributeOverride(name = "total", column = @Column(name = "uv_index_sum", nullable = false))
+    @Builder.Default
+    private MetricAggregate uvIndex = new MetricAggregate();
+
+    @Embedded
+    @AttributeOverride(name = "samples", column = @Column(name = "light_level_count", nullable = false))
+    @AttributeOverride(name = "minimum", column = @Column(name = "light_level_min"))
+    @AttributeOverride(name = "maximum", column = @Column(name = "light_level_max"))
+    @AttributeOverride(name = "total", column = @Column(name = "light_level_sum", nullable = false))
+    @Builder.Default
+    private MetricAggregate lightLevel = new MetricAggregate();
+
+    @Embedded
+    @AttributeOverride(name = "samples", column = @Column(name = "battery_voltage_count", nullable = false))
+    @AttributeOverride(name = "minimum", column = @Column(name = "battery_voltage_min"))
+    @AttributeOverride(name = "maximum", column = @Column(name = "battery_voltage_max"))
+    @AttributeOverride(name = "total", column = @Column(name = "battery_voltage_sum", nullable = false))
+    @Builder.Default
+    private MetricAggregate batteryVoltage = new MetricAggregate();
+
+    /**
+     * Get the aggregate for a metric.
+     *
+     * @param metric the metric
+     * @return the metric's aggregate
+     */
+    public MetricAggregate aggregate(WeatherMetric metric) {
+        return switch (metric) {
+            case TEMPERATURE -> temperature;
+            case HUMIDITY -> humidity;
+            case PRESSURE -> pressure;
+            case WIND_SPEED -> windSpeed;
+            case RAINFALL -> rainfall;
+            case UV_INDEX -> uvIndex;
+            case LIGHT_LEVEL -> lightLevel;
+            case BATTERY_VOLTAGE -> batteryVoltage;
+        };
+    }
+
+    /**
+     * Add a reading to this bucket.
+     *
+     * @param reading the reading, which must fall inside the bucket
+     */
+    public void add(WeatherReading reading) {
+        readingCount++;
+        for (WeatherMetric metric : WeatherMetric.values()) {
+            aggregate(metric).add(metric.extractValue(reading));
+        }
+    }
+}
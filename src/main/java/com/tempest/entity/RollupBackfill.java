@@ -0,0 +1,43 @@
+package com.tempest.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity recording how far the backfill of one rollup granularity has progressed.
+ * Readings up to the cutoff ID predate the rollups of the granularity and are aggregated by the
+ * backfill; later readings are merged as they are ingested. The watermark advances in the same
+ * transaction as the buckets of each chunk, so an interrupted backfill resumes where it stopped.
+ */
+@Entity
+@Table(name = "rollup_backfill")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupBackfill {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private RollupGranularity granularity;
+
+    /**
+     * Highest reading ID left to the backfill.
+     */
+    @Column(name = "cutoff_id", nullable = false)
+    private Long cutoffId;
+
+    /**
+     * Highest reading ID already aggregated by the backfill.
+     */
+    @Column(name = "processed_up_to", nullable = false)
+    private Long processedUpTo;
+
+    public boolean isComplete() {
+        return processedUpTo >= cutoffId;
+    }
+}
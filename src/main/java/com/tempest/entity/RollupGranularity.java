@@ -0,0 +1,55 @@
+package com.tempest.entity;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Bucket sizes for pre-aggregated reading rollups.
+ * Each granularity serves chart windows up to a maximum length; longer windows use the next coarser one.
+ */
+public enum RollupGranularity {
+    FIVE_MINUTE(Duration.ofMinutes(5), 7 * 24),
+    HOURLY(Duration.ofHours(1), 31 * 24),
+    DAILY(Duration.ofDays(1), Integer.MAX_VALUE);
+
+    /**
+     * Bucket length; always divides a day evenly.
+     */
+    private final Duration size;
+
+    private final int maxWindowHours;
+
+    RollupGranularity(Duration size, int maxWindowHours) {
+        this.size = size;
+        this.maxWindowHours = maxWindowHours;
+    }
+
+    /**
+     * Get the start of the bucket containing the given time.
+     *
+     * @param timestamp the time to bucket
+     * @return the bucket start
+     */
+    public LocalDateTime truncate(LocalDateTime timestamp) {
+        long secondOfDay = timestamp.toLocalTime().toSecondOfDay();
+        return timestamp.truncatedTo(ChronoUnit.DAYS).plusSeconds(secondOfDay - secondOfDay % size.getSeconds());
+    }
+
+    /**
+     * Get the end (exclusive) of the bucket starting at the given time.
+     *
+     * @param bucketStart the bucket start
+     * @return the start of the next bucket
+     */
+    public LocalDateTime bucketEnd(LocalDateTime bucketStart) {
+        return bucketStart.plus(size);
+    }
+
+    /**
+     * Get the longest window, in hours, served from buckets of this size.
+     */
+    public int getMaxWindowHours() {
+        return maxWindowHours;
+    }
+}
@@ -64,6 +64,20 @@ public class WeatherAlert {
     @Column(nullable = false)
     private ComparisonOperator operator;
 
+    /**
+     * How the metric is evaluated: the latest value, or a value derived over a time window.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "alert_condition")
+    @Builder.Default
+    private AlertCondition condition = AlertCondition.INSTANT;
+
+    /**
+     * Window length in minutes for windowed conditions; unused for INSTANT.
+     */
+    @Column(name = "window_minutes")
+    private Integer windowMinutes;
+
     /**
      * Threshold value that triggers the alert.
      */
@@ -105,16 +119,26 @@ public class WeatherAlert {
     @Builder.Default
     private Integer cooldownMinutes = 60;
 
+    /**
+     * Coalescing window in minutes. Notifications are held this long and delivered together with
+     * any other pending notifications for the same recipient as one digest. 0 sends immediately.
+     */
+    @Column(name = "digest_window_minutes")
+    @Builder.Default
+    private Integer digestWindowMinutes = 0;
+
     /**
      * Timestamp of when the alert was last triggered.
+     * Owned by the cooldown tracker, which flushes it in batches; entity saves never overwrite it.
      */
-    @Column(name = "last_triggered_at")
+    @Column(name = "last_triggered_at", updatable = false)
     private LocalDateTime lastTriggeredAt;
 
     /**
      * Number of times this alert has been triggered.
+     * Owned by the cooldown tracker, which flushes it in batches; entity saves never overwrite it.
      */
-    @Column(name = "trigger_count")
+    @Column(name = "trigger_count", updatable = false)
     @Builder.Default
     private Long triggerCount = 0L;
 
@@ -147,10 +171,20 @@ public class WeatherAlert {
      * @return true if in cooldown, false otherwise
      */
     public boolean isInCooldown() {
+        return isInCooldown(LocalDateTime.now());
+    }
+
+    /**
+     * Check if the alert is in cooldown at the given time.
+     *
+     * @param now the time to check
+     * @return true if in cooldown, false otherwise
+     */
+    public boolean isInCooldown(LocalDateTime now) {
         if (lastTriggeredAt == null) {
             return false;
         }
         LocalDateTime cooldownEnd = lastTriggeredAt.plusMinutes(cooldownMinutes);
-        return LocalDateTime.now().isBefore(cooldownEnd);
+        return now.isBefore(cooldownEnd);
     }
 }
@@ -28,4 +28,23 @@ public enum WeatherMetric {
     public String getUnit() {
         return unit;
     }
+
+    /**
+     * Extract this metric's value from a reading.
+     *
+     * @param reading the weather reading
+     * @return the metric value, or null if not available
+     */
+    public Double extractValue(WeatherReading reading) {
+        return switch (this) {
+            case TEMPERATURE -> reading.getTemperature();
+            case HUMIDITY -> reading.getHumidity();
+            case PRESSURE -> reading.getPressure();
+            case WIND_SPEED -> reading.getWindSpeed();
+            case RAINFALL -> reading.getRainfall();
+            case UV_INDEX -> reading.getUvIndex();
+            case LIGHT_LEVEL -> reading.getLightLevel();
+            case BATTERY_VOLTAGE -> reading.getBatteryVoltage();
+        };
+    }
 }
@@ -15,7 +15,7 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "weather_readings", indexes = {
     @Index(name = "idx_reading_timestamp", columnList = "timestamp"),
-    @Index(name = "idx_station_id", columnList = "stationId")
+    @Index(name = "idx_reading_station_timestamp", columnList = "station_id, timestamp DESC")
 })
 @Data
 @Builder
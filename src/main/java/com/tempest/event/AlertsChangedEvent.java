@@ -0,0 +1,10 @@
+package com.tempest.event;
+
+/**
+ * Published when an alert is created, updated, deleted or toggled.
+ * The alert rule index rebuilds itself once the change has committed.
+ *
+ * @param alertId the ID of the changed alert
+ */
+public record AlertsChangedEvent(Long alertId) {
+}
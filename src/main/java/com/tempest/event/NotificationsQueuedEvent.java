@@ -0,0 +1,11 @@
+package com.tempest.event;
+
+/**
+ * Published when notifications have been written to the outbox.
+ * The dispatcher drains the outbox as soon as the enqueuing transaction commits
+ * instead of waiting for its next poll.
+ *
+ * @param count the number of queued notifications
+ */
+public record NotificationsQueuedEvent(int count) {
+}
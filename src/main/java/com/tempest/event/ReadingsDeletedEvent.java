@@ -0,0 +1,10 @@
+package com.tempest.event;
+
+/**
+ * Published when stored readings are deleted.
+ * Caches derived from readings drop the affected stations once the deletion has committed.
+ *
+ * @param stationId the station whose readings were deleted, or null if all readings were deleted
+ */
+public record ReadingsDeletedEvent(String stationId) {
+}
@@ -0,0 +1,16 @@
+package com.tempest.event;
+
+import com.tempest.entity.WeatherReading;
+
+import java.util.List;
+
+/**
+ * Published once weather readings have been persisted.
+ * Listeners perform the follow-up ingest stages (station upkeep, alert evaluation)
+ * after the recording transaction commits. The event is normally published after that commit;
+ * listeners use fallback execution so they run then, and defer to the commit otherwise.
+ *
+ * @param readings the persisted readings, in the order they were received
+ */
+public record ReadingsRecordedEvent(List<WeatherReading> readings) {
+}
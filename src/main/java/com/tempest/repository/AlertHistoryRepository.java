@@ -4,7 +4,11 @@ import com.tempest.entity.AlertHistory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -41,10 +45,39 @@ public interface AlertHistoryRepository extends JpaRepository<AlertHistory, Long
     long countByAlertIdAndTriggeredAtAfter(Long alertId, LocalDateTime after);
 
     /**
-     * Delete old history entries before a specific timestamp.
+     * Record that every notification for a history entry was delivered.
+     *
+     * @param id the history entry ID
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE AlertHistory h SET h.notificationSent = true, h.notificationError = null WHERE h.id = :id")
+    void markNotificationSent(@Param("id") Long id);
+
+    /**
+     * Record a notification delivery error on a history entry.
+     *
+     * @param id    the history entry ID
+     * @param error the delivery error
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE AlertHistory h SET h.notificationError = :error WHERE h.id = :id")
+    void recordNotificationError(@Param("id") Long id, @Param("error") String error);
+
+    /**
+     * Delete up to {@code limit} history entries triggered before the cutoff, in their own transaction.
      * Used for cleanup to maintain database size.
      *
      * @param before the cutoff timestamp
+     * @param limit  maximum number of entries to delete
+     * @return the number of entries deleted
      */
-    void deleteByTriggeredAtBefore(LocalDateTime before);
+    @Transactional
+    @Modifying
+    @Query(value = """
+        DELETE FROM alert_history
+        WHERE id IN (SELECT id FROM alert_history WHERE triggered_at < :before LIMIT :limit)
+        """, nativeQuery = true)
+    int deleteChunkBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
 }
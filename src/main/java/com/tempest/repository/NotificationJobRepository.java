@@ -0,0 +1,85 @@
+package com.tempest.repository;
+
+import com.tempest.entity.NotificationChannel;
+import com.tempest.entity.NotificationJob;
+import com.tempest.entity.NotificationStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for the notification outbox.
+ */
+@Repository
+public interface NotificationJobRepository extends JpaRepository<NotificationJob, Long> {
+
+    /**
+     * Find jobs in a state whose next attempt is due, oldest first.
+     *
+     * @param status   the job status
+     * @param now      the current time
+     * @param pageable limits the batch size
+     * @return due jobs
+     */
+    List<NotificationJob> findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(
+            NotificationStatus status, LocalDateTime now, Pageable pageable);
+
+    /**
+     * Find the pending jobs for one recipient on one channel that can go out in a digest now,
+     * oldest first: those that are due, and those still waiting out their digest window.
+     * Jobs waiting out a retry backoff are left alone.
+     *
+     * @param channel   the delivery channel
+     * @param recipient the email address or phone number
+     * @param now       the current time
+     * @param pageable  limits the number of jobs
+     * @return matching jobs
+     */
+    @Query("""
+        SELECT j FROM NotificationJob j
+        WHERE j.status = com.tempest.entity.NotificationStatus.PENDING
+          AND j.channel = :channel AND j.recipient = :recipient
+          AND (j.nextAttemptAt <= :now OR j.attempts = 0)
+        ORDER BY j.createdAt ASC, j.id ASC
+        """)
+    List<NotificationJob> findDigestCandidates(
+            @Param("channel") NotificationChannel channel,
+            @Param("recipient") String recipient,
+            @Param("now") LocalDateTime now,
+            Pageable pageable);
+
+    /**
+     * Claim a pending job for delivery. Only one caller can win the claim.
+     *
+     * @param id the job ID
+     * @return 1 if the job was claimed, 0 if another worker claimed it first
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE NotificationJob j SET j.status = com.tempest.entity.NotificationStatus.SENDING " +
+            "WHERE j.id = :id AND j.status = com.tempest.entity.NotificationStatus.PENDING")
+    int claim(@Param("id") Long id);
+
+    /**
+     * Return jobs left in SENDING by a previous run (e.g. a crash mid-delivery) to the queue.
+     *
+     * @return number of jobs released
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE NotificationJob j SET j.status = com.tempest.entity.NotificationStatus.PENDING " +
+            "WHERE j.status = com.tempest.entity.NotificationStatus.SENDING")
+    int releaseClaimed();
+
+    /**
+     * Count an alert history entry's jobs that are not in the given state.
+     */
+    long countByAlertHistoryIdAndStatusNot(Long alertHistoryId, NotificationStatus status);
+}
@@ -0,0 +1,149 @@
+package com.tempest.repository;
+
+import com.tempest.entity.ReadingRollup;
+import com.tempest.entity.RollupGranularity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for pre-aggregated reading rollups.
+ */
+@Repository
+public interface ReadingRollupRepository extends JpaRepository<ReadingRollup, Long>, ReadingRollupRepositoryCustom {
+
+    /**
+     * Find all buckets of a granularity since the given bucket start, oldest first.
+     */
+    List<ReadingRollup> findByGranularityAndBucketStartGreaterThanEqualOrderByBucketStartAsc(
+            RollupGranularity granularity, LocalDateTime since);
+
+    /**
+     * Find a station's buckets of a granularity since the given bucket start, oldest first.
+     */
+    List<ReadingRollup> findByStationIdAndGranularityAndBucketStartGreaterThanEqualOrderByBucketStartAsc(
+            String stationId, RollupGranularity granularity, LocalDateTime since);
+
+    /**
+     * Find the buckets of several stations since the given bucket start, grouped by station and oldest first.
+     */
+    List<ReadingRollup> findByStationIdInAndGranularityAndBucketStartGreaterThanEqualOrderByStationIdAscBucketStartAsc(
+            Collection<String> stationIds, RollupGranularity granularity, LocalDateTime since);
+
+    /**
+     * Aggregate all buckets of a granularity since the given bucket start.
+     */
+    @Query("""
+        SELECT MIN(r.temperature.minimum) AS minTemperature, MAX(r.temperature.maximum) AS maxTemperature,
+               SUM(r.temperature.total) / NULLIF(SUM(r.temperature.samples), 0) AS avgTemperature,
+               SUM(r.humidity.total) / NULLIF(SUM(r.humidity.samples), 0) AS avgHumidity,
+               SUM(r.pressure.total) / NULLIF(SUM(r.pressure.samples), 0) AS avgPressure,
+               SUM(r.rainfall.total) AS totalRainfall, MAX(r.windSpeed.maximum) AS maxWindSpeed,
+               SUM(r.readingCount) AS readingCount
+        FROM ReadingRollup r
+        WHERE r.granularity = :granularity AND r.bucketStart >= :since
+        """)
+    ReadingStatsProjection aggregateSince(
+            @Param("granularity") RollupGranularity granularity,
+            @Param("since") LocalDateTime since);
+
+    /**
+     * Aggregate a station's buckets of a granularity since the given bucket start.
+     */
+    @Query("""
+        SELECT MIN(r.temperature.minimum) AS minTemperature, MAX(r.temperature.maximum) AS maxTemperature,
+               SUM(r.temperature.total) / NULLIF(SUM(r.temperature.samples), 0) AS avgTemperature,
+               SUM(r.humidity.total) / NULLIF(SUM(r.humidity.samples), 0) AS avgHumidity,
+               SUM(r.pressure.total) / NULLIF(SUM(r.pressure.samples), 0) AS avgPressure,
+               SUM(r.rainfall.total) AS totalRainfall, MAX(r.windSpeed.maximum) AS maxWindSpeed,
+               SUM(r.readingCount) AS readingCount
+        FROM ReadingRollup r
+        WHERE r.stationId = :stationId AND r.granularity = :granularity AND r.bucketStart >= :since
+        """)
+    ReadingStatsProjection aggregateSinceForStation(
+            @Param("stationId") String stationId,
+            @Param("granularity") RollupGranularity granularity,
+            @Param("since") LocalDateTime since);
+
+    /**
+     * Aggregate the buckets of several stations since the given bucket start, one row per station.
+     */
+    @Query("""
+        SELECT r.stationId AS stationId,
+               MIN(r.temperature.minimum) AS minTemperature, MAX(r.temperature.maximum) AS maxTemperature,
+               SUM(r.temperature.total) / NULLIF(SUM(r.temperature.samples), 0) AS avgTemperature,
+               SUM(r.humidity.total) / NULLIF(SUM(r.humidity.samples), 0) AS avgHumidity,
+               SUM(r.pressure.total) / NULLIF(SUM(r.pressure.samples), 0) AS avgPressure,
+               SUM(r.rainfall.total) AS totalRainfall, MAX(r.windSpeed.maximum) AS maxWindSpeed,
+               SUM(r.readingCount) AS readingCount
+        FROM ReadingRollup r
+        WHERE r.stationId IN :stationIds AND r.granularity = :granularity AND r.bucketStart >= :since
+        GROUP BY r.stationId
+        """)
+    List<StationStatsProjection> aggregateSinceForStations(
+            @Param("stationIds") Collection<String> stationIds,
+            @Param("granularity") RollupGranularity granularity,
+            @Param("since") LocalDateTime since);
+
+    /**
+     * Check whether any bucket of a granularity exists.
+     */
+    boolean existsByGranularity(RollupGranularity granularity);
+
+    /**
+     * Delete up to {@code limit} buckets of a granularity that start before the cutoff, in their own transaction.
+     *
+     * @return the number of buckets deleted
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+        DELETE FROM reading_rollups
+        WHERE id IN (SELECT id FROM reading_rollups WHERE granularity = :granularity AND bucket_start < :before LIMIT :limit)
+        """, nativeQuery = true)
+    int deleteChunkBefore(
+            @Param("granularity") String granularity,
+            @Param("before") LocalDateTime before,
+            @Param("limit") int limit);
+
+    /**
+     * Delete up to {@code limit} buckets of a station and granularity that start before the cutoff,
+     * in their own transaction.
+     *
+     * @return the number of buckets deleted
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+        DELETE FROM reading_rollups
+        WHERE id IN (SELECT id FROM reading_rollups
+                     WHERE station_id = :stationId AND granularity = :granularity AND bucket_start < :before LIMIT :limit)
+        """, nativeQuery = true)
+    int deleteChunkForStationBefore(
+            @Param("stationId") String stationId,
+            @Param("granularity") String granularity,
+            @Param("before") LocalDateTime before,
+            @Param("limit") int limit);
+
+    /**
+     * Delete one bucket. Must run in the caller's transaction.
+     *
+     * @return the number of buckets deleted
+     */
+    @Modifying
+    @Query(value = """
+        DELETE FROM reading_rollups
+        WHERE station_id = :stationId AND granularity = :granularity AND bucket_start = :bucketStart
+        """, nativeQuery = true)
+    int deleteBucket(
+            @Param("stationId") String stationId,
+            @Param("granularity") String granularity,
+            @Param("bucketStart") LocalDateTime bucketStart);
+}
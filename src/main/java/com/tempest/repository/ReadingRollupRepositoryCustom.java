@@ -0,0 +1,20 @@
+package com.tempest.repository;
+
+import com.tempest.entity.ReadingRollup;
+
+import java.util.Collection;
+
+/**
+ * Custom JDBC-backed operations for ReadingRollup.
+ */
+public interface ReadingRollupRepositoryCustom {
+
+    /**
+     * Merge partial rollups into the stored buckets, creating buckets that do not exist yet.
+     * Counts and sums are added and minimum/maximum are widened atomically in the database,
+     * so concurrent writers to the same bucket do not lose updates.
+     *
+     * @param deltas partial rollups to merge
+     */
+    void mergeAll(Collection<ReadingRollup> deltas);
+}
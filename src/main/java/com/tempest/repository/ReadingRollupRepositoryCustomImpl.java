@@ -0,0 +1,125 @@
+package com.tempest.repository;
+
+import com.tempest.entity.MetricAggregate;
+import com.tempest.entity.ReadingRollup;
+import com.tempest.entity.WeatherMetric;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * JDBC implementation of {@link ReadingRollupRepositoryCustom}.
+ * Uses INSERT ... ON CONFLICT on PostgreSQL and MERGE on H2.
+ */
+@RequiredArgsConstructor
+public class ReadingRollupRepositoryCustomImpl implements ReadingRollupRepositoryCustom {
+
+    private static final List<String> KEY_COLUMNS = List.of("station_id", "granularity", "bucket_start");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile String mergeSql;
+
+    @Override
+    public void mergeAll(Collection<ReadingRollup> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = deltas.stream()
+                .map(ReadingRollupRepositoryCustomImpl::toArgs)
+                .collect(Collectors.toList());
+        jdbcTemplate.batchUpdate(mergeSql(), args);
+    }
+
+    private String mergeSql() {
+        if (mergeSql == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+            mergeSql = "PostgreSQL".equalsIgnoreCase(product) ? postgresMergeSql() : h2MergeSql();
+        }
+        return mergeSql;
+    }
+
+    private static Object[] toArgs(ReadingRollup rollup) {
+        List<Object> args = new ArrayList<>();
+        args.add(rollup.getStationId());
+        args.add(rollup.getGranularity().name());
+        args.add(rollup.getBucketStart());
+        args.add(rollup.getReadingCount());
+        for (WeatherMetric metric : WeatherMetric.values()) {
+            MetricAggregate aggregate = rollup.aggregate(metric);
+            args.add(aggregate.getSamples());
+            args.add(aggregate.getMinimum());
+            args.add(aggregate.getMaximum());
+            args.add(aggregate.getTotal());
+        }
+        return args.toArray();
+    }
+
+    /**
+     * Column prefix of a metric, matching the weather_readings column names.
+     */
+    private static String prefix(WeatherMetric metric) {
+        return metric.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> columns() {
+        List<String> columns = new ArrayList<>(KEY_COLUMNS);
+        columns.add("reading_count");
+        for (WeatherMetric metric : WeatherMetric.values()) {
+            String p = prefix(metric);
+            columns.addAll(Arrays.asList(p + "_count", p + "_min", p + "_max", p + "_sum"));
+        }
+        return columns;
+    }
+
+    /**
+     * SET clause combining the existing row (target) with the incoming values (source).
+     */
+    private static String mergeAssignments(String target, String source) {
+        List<String> sets = new ArrayList<>();
+        sets.add("reading_count = " + target + ".reading_count + " + source + ".reading_count");
+        for (WeatherMetric metric : WeatherMetric.values()) {
+            String p = prefix(metric);
+            sets.add(p + "_count = " + target + "." + p + "_count + " + source + "." + p + "_count");
+            sets.add(p + "_min = LEAST(" + target + "." + p + "_min, " + source + "." + p + "_min)");
+            sets.add(p + "_max = GREATEST(" + target + "." + p + "_max, " + source + "." + p + "_max)");
+            sets.add(p + "_sum = " + target + "." + p + "_sum + " + source + "." + p + "_sum");
+        }
+        return String.join(", ", sets);
+    }
+
+    private static String postgresMergeSql() {
+        List<String> columns = columns();
+        String placeholders = columns.stream().map(c -> "?").collect(Collectors.joining(", "));
+        return "INSERT INTO reading_rollups (" + String.join(", ", columns) + ") VALUES (" + placeholders + ")"
+                + " ON CONFLICT (" + String.join(", ", KEY_COLUMNS) + ") DO UPDATE SET "
+                + mergeAssignments("reading_rollups", "EXCLUDED");
+    }
+
+    private static String h2MergeSql() {
+        List<String> columns = columns();
+        String typedPlaceholders = columns.stream()
+                .map(c -> switch (c) {
+                    case "station_id", "granularity" -> "CAST(? AS VARCHAR)";
+                    case "bucket_start" -> "CAST(? AS TIMESTAMP)";
+                    default -> c.endsWith("_count") ? "CAST(? AS BIGINT)" : "CAST(? AS DOUBLE PRECISION)";
+                })
+                .collect(Collectors.joining(", "));
+        String joinCondition = KEY_COLUMNS.stream()
+                .map(c -> "t." + c + " = s." + c)
+                .collect(Collectors.joining(" AND "));
+        String sourceColumns = columns.stream().map(c -> "s." + c).collect(Collectors.joining(", "));
+        return "MERGE INTO reading_rollups t USING (VALUES (" + typedPlaceholders + ")) AS s("
+                + String.join(", ", columns) + ") ON " + joinCondition
+                + " WHEN MATCHED THEN UPDATE SET " + mergeAssignments("t", "s")
+                + " WHEN NOT MATCHED THEN INSERT (" + String.join(", ", columns) + ") VALUES (" + sourceColumns + ")";
+    }
+}
@@ -0,0 +1,24 @@
+package com.tempest.repository;
+
+/**
+ * Aggregate values over a window of weather readings, computed by the database.
+ * Aggregates are null when no reading in the window has the metric.
+ */
+public interface ReadingStatsProjection {
+
+    Double getMinTemperature();
+
+    Double getMaxTemperature();
+
+    Double getAvgTemperature();
+
+    Double getAvgHumidity();
+
+    Double getAvgPressure();
+
+    Double getTotalRainfall();
+
+    Double getMaxWindSpeed();
+
+    Long getReadingCount();
+}
@@ -0,0 +1,26 @@
+package com.tempest.repository;
+
+import com.tempest.entity.RollupBackfill;
+import com.tempest.entity.RollupGranularity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the progress of rollup backfills.
+ */
+@Repository
+public interface RollupBackfillRepository extends JpaRepository<RollupBackfill, RollupGranularity> {
+
+    /**
+     * Check whether any backfill has not yet reached its cutoff.
+     */
+    @Query("SELECT COUNT(b) > 0 FROM RollupBackfill b WHERE b.processedUpTo < b.cutoffId")
+    boolean existsIncomplete();
+
+    /**
+     * Get the lowest watermark among backfills that have not reached their cutoff, or null if all have.
+     */
+    @Query("SELECT MIN(b.processedUpTo) FROM RollupBackfill b WHERE b.processedUpTo < b.cutoffId")
+    Long findIncompleteWatermark();
+}
@@ -0,0 +1,9 @@
+package com.tempest.repository;
+
+/**
+ * Aggregate values over a window of one station's readings, from a query grouped by station.
+ */
+public interface StationStatsProjection extends ReadingStatsProjection {
+
+    String getStationId();
+}
@@ -1,7 +1,11 @@
 package com.tempest.repository;
 
 import com.tempest.entity.WeatherAlert;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,7 +14,7 @@ import java.util.List;
  * Repository for managing WeatherAlert entities.
  */
 @Repository
-public interface WeatherAlertRepository extends JpaRepository<WeatherAlert, Long> {
+public interface WeatherAlertRepository extends JpaRepository<WeatherAlert, Long>, WeatherAlertRepositoryCustom {
 
     /**
      * Find all enabled alerts.
@@ -19,6 +23,16 @@ public interface WeatherAlertRepository extends JpaRepository<WeatherAlert, Long
      */
     List<WeatherAlert> findByIsEnabledTrue();
 
+    /**
+     * Load enabled alerts as read-only entities for the in-memory rule index.
+     * The indexed copies are shared across evaluations and must never be dirty-checked.
+     *
+     * @return list of enabled alerts
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT a FROM WeatherAlert a WHERE a.isEnabled = true")
+    List<WeatherAlert> findEnabledForIndex();
+
     /**
      * Find enabled alerts for a specific station.
      *
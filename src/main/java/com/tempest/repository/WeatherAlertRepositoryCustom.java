@@ -0,0 +1,28 @@
+package com.tempest.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Custom JDBC-backed operations for WeatherAlert.
+ */
+public interface WeatherAlertRepositoryCustom {
+
+    /**
+     * Apply accumulated trigger state to the alerts table in one batch.
+     * Trigger counts are incremented in the database, so deltas never overwrite each other.
+     *
+     * @param deltas per-alert trigger deltas
+     */
+    void applyTriggers(Collection<TriggerDelta> deltas);
+
+    /**
+     * Triggers of one alert since the last flush.
+     *
+     * @param alertId         the alert ID
+     * @param lastTriggeredAt when the alert last fired
+     * @param count           number of times it fired since the last flush
+     */
+    record TriggerDelta(Long alertId, LocalDateTime lastTriggeredAt, long count) {
+    }
+}
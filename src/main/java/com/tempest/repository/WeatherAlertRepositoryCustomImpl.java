@@ -0,0 +1,31 @@
+package com.tempest.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * JDBC implementation of {@link WeatherAlertRepositoryCustom}.
+ */
+@RequiredArgsConstructor
+public class WeatherAlertRepositoryCustomImpl implements WeatherAlertRepositoryCustom {
+
+    private static final String APPLY_TRIGGERS_SQL =
+            "UPDATE weather_alerts SET last_triggered_at = ?, trigger_count = COALESCE(trigger_count, 0) + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void applyTriggers(Collection<TriggerDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = deltas.stream()
+                .map(delta -> new Object[]{delta.lastTriggeredAt(), delta.count(), delta.alertId()})
+                .collect(Collectors.toList());
+        jdbcTemplate.batchUpdate(APPLY_TRIGGERS_SQL, args);
+    }
+}
@@ -1,25 +1,48 @@
 package com.tempest.repository;
 
 import com.tempest.entity.WeatherReading;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface WeatherReadingRepository extends JpaRepository<WeatherReading, Long> {
+public interface WeatherReadingRepository extends JpaRepository<WeatherReading, Long>, WeatherReadingRepositoryCustom {
 
     /**
      * Find the latest reading for a specific station.
+     * A single probe of the (station_id, timestamp DESC) index.
      */
     Optional<WeatherReading> findTopByStationIdOrderByTimestampDesc(String stationId);
 
+    /**
+     * Get the distinct station IDs of all readings, registered or not, with one probe of the
+     * (station_id, timestamp DESC) index per station rather than a scan of every reading.
+     */
+    @Query(value = """
+        WITH RECURSIVE stations(station_id) AS (
+            SELECT MIN(station_id) FROM weather_readings
+            UNION ALL
+            SELECT (SELECT MIN(r.station_id) FROM weather_readings r WHERE r.station_id > s.station_id)
+            FROM stations s WHERE s.station_id IS NOT NULL
+        )
+        SELECT station_id FROM stations WHERE station_id IS NOT NULL
+        """, nativeQuery = true)
+    List<String> findDistinctStationIds();
+
     /**
      * Find the latest reading across all stations.
      */
@@ -37,22 +60,108 @@ public interface WeatherReadingRepository extends JpaRepository<WeatherReading,
     List<WeatherReading> findByStationIdAndTimestampBetweenOrderByTimestampAsc(
             String stationId, LocalDateTime start, LocalDateTime end);
 
+    /**
+     * Find a station's readings in [from, to), for rebuilding a rollup bucket.
+     */
+    List<WeatherReading> findByStationIdAndTimestampGreaterThanEqualAndTimestampLessThan(
+            String stationId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Find readings without a station in [from, to), for rebuilding a rollup bucket.
+     */
+    List<WeatherReading> findByStationIdIsNullAndTimestampGreaterThanEqualAndTimestampLessThan(
+            LocalDateTime from, LocalDateTime to);
+
     /**
      * Find all readings for a station with pagination.
      */
     Page<WeatherReading> findByStationIdOrderByTimestampDesc(String stationId, Pageable pageable);
 
     /**
-     * Get readings from the last N hours (ascending for charts).
+     * Count readings of a station.
      */
-    @Query("SELECT r FROM WeatherReading r WHERE r.timestamp >= :since ORDER BY r.timestamp ASC")
-    List<WeatherReading> findReadingsSince(@Param("since") LocalDateTime since);
+    long countByStationId(String stationId);
+
+    /**
+     * First page of readings, newest first, with ID as tie-breaker.
+     */
+    @Query("SELECT r FROM WeatherReading r ORDER BY r.timestamp DESC, r.id DESC")
+    List<WeatherReading> findPage(Pageable pageable);
+
+    /**
+     * Next page of readings strictly after the (timestamp, id) keyset position.
+     */
+    @Query("""
+        SELECT r FROM WeatherReading r
+        WHERE r.timestamp <= :timestamp AND (r.timestamp < :timestamp OR r.id < :id)
+        ORDER BY r.timestamp DESC, r.id DESC
+        """)
+    List<WeatherReading> findPageAfter(
+            @Param("timestamp") LocalDateTime timestamp,
+            @Param("id") Long id,
+            Pageable pageable);
 
     /**
-     * Get readings from the last N hours (descending for history view).
+     * First page of a station's readings, newest first, with ID as tie-breaker.
      */
-    @Query("SELECT r FROM WeatherReading r WHERE r.timestamp >= :since ORDER BY r.timestamp DESC")
-    List<WeatherReading> findReadingsSinceDesc(@Param("since") LocalDateTime since);
+    @Query("SELECT r FROM WeatherReading r WHERE r.stationId = :stationId ORDER BY r.timestamp DESC, r.id DESC")
+    List<WeatherReading> findPageForStation(@Param("stationId") String stationId, Pageable pageable);
+
+    /**
+     * Next page of a station's readings strictly after the (timestamp, id) keyset position.
+     */
+    @Query("""
+        SELECT r FROM WeatherReading r
+        WHERE r.stationId = :stationId
+          AND r.timestamp <= :timestamp AND (r.timestamp < :timestamp OR r.id < :id)
+        ORDER BY r.timestamp DESC, r.id DESC
+        """)
+    List<WeatherReading> findPageForStationAfter(
+            @Param("stationId") String stationId,
+            @Param("timestamp") LocalDateTime timestamp,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    /**
+     * Stream readings in a time range, oldest first, fetching rows from a database cursor.
+     * Must be consumed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT r FROM WeatherReading r
+        WHERE r.timestamp >= :from AND r.timestamp < :to
+        ORDER BY r.timestamp ASC, r.id ASC
+        """)
+    Stream<WeatherReading> streamByTimestampRange(
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    /**
+     * Stream a station's readings in a time range, oldest first, fetching rows from a database cursor.
+     * Must be consumed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT r FROM WeatherReading r
+        WHERE r.stationId = :stationId AND r.timestamp >= :from AND r.timestamp < :to
+        ORDER BY r.timestamp ASC, r.id ASC
+        """)
+    Stream<WeatherReading> streamByStationAndTimestampRange(
+            @Param("stationId") String stationId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    /**
+     * Get readings from the last N hours (ascending for charts).
+     */
+    @Query("SELECT r FROM WeatherReading r WHERE r.timestamp >= :since ORDER BY r.timestamp ASC")
+    List<WeatherReading> findReadingsSince(@Param("since") LocalDateTime since);
 
     /**
      * Get readings from the last N hours for a specific station.
@@ -63,22 +172,115 @@ public interface WeatherReadingRepository extends JpaRepository<WeatherReading,
             @Param("since") LocalDateTime since);
 
     /**
-     * Get average readings grouped by hour for the last N days.
+     * Get readings from the last N hours for several stations, grouped by station and ascending within each.
+     */
+    @Query("SELECT r FROM WeatherReading r WHERE r.stationId IN :stationIds AND r.timestamp >= :since ORDER BY r.stationId, r.timestamp ASC")
+    List<WeatherReading> findReadingsSinceForStations(
+            @Param("stationIds") Collection<String> stationIds,
+            @Param("since") LocalDateTime since);
+
+    /**
+     * Aggregate all readings since the given time in a single query.
+     */
+    @Query("""
+        SELECT MIN(r.temperature) AS minTemperature, MAX(r.temperature) AS maxTemperature,
+               AVG(r.temperature) AS avgTemperature, AVG(r.humidity) AS avgHumidity,
+               AVG(r.pressure) AS avgPressure, SUM(r.rainfall) AS totalRainfall,
+               MAX(r.windSpeed) AS maxWindSpeed, COUNT(r) AS readingCount
+        FROM WeatherReading r
+        WHERE r.timestamp >= :since
+        """)
+    ReadingStatsProjection aggregateSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Aggregate a station's readings since the given time in a single query.
+     */
+    @Query("""
+        SELECT MIN(r.temperature) AS minTemperature, MAX(r.temperature) AS maxTemperature,
+               AVG(r.temperature) AS avgTemperature, AVG(r.humidity) AS avgHumidity,
+               AVG(r.pressure) AS avgPressure, SUM(r.rainfall) AS totalRainfall,
+               MAX(r.windSpeed) AS maxWindSpeed, COUNT(r) AS readingCount
+        FROM WeatherReading r
+        WHERE r.stationId = :stationId AND r.timestamp >= :since
+        """)
+    ReadingStatsProjection aggregateSinceForStation(
+            @Param("stationId") String stationId,
+            @Param("since") LocalDateTime since);
+
+    /**
+     * Aggregate the readings of several stations since the given time, one row per station with readings.
+     */
+    @Query("""
+        SELECT r.stationId AS stationId,
+               MIN(r.temperature) AS minTemperature, MAX(r.temperature) AS maxTemperature,
+               AVG(r.temperature) AS avgTemperature, AVG(r.humidity) AS avgHumidity,
+               AVG(r.pressure) AS avgPressure, SUM(r.rainfall) AS totalRainfall,
+               MAX(r.windSpeed) AS maxWindSpeed, COUNT(r) AS readingCount
+        FROM WeatherReading r
+        WHERE r.stationId IN :stationIds AND r.timestamp >= :since
+        GROUP BY r.stationId
+        """)
+    List<StationStatsProjection> aggregateSinceForStations(
+            @Param("stationIds") Collection<String> stationIds,
+            @Param("since") LocalDateTime since);
+
+    /**
+     * Get the highest reading ID, or 0 if there are no readings.
+     */
+    @Query("SELECT COALESCE(MAX(r.id), 0) FROM WeatherReading r")
+    long findMaxId();
+
+    /**
+     * Find readings with IDs in (afterId, upToId], in ID order, for chunked processing.
+     */
+    List<WeatherReading> findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(
+            Long afterId, Long upToId, Pageable pageable);
+
+    /**
+     * Delete up to {@code limit} readings older than the cutoff with IDs up to {@code upToId},
+     * in their own transaction. The outer timestamp bound lets partitioned tables prune the delete.
+     *
+     * @return the number of readings deleted
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+        DELETE FROM weather_readings
+        WHERE timestamp < :before
+          AND id IN (SELECT id FROM weather_readings
+                     WHERE timestamp < :before AND id <= :upToId LIMIT :limit)
+        """, nativeQuery = true)
+    int deleteChunkBefore(@Param("before") LocalDateTime before, @Param("upToId") long upToId,
+                          @Param("limit") int limit);
+
+    /**
+     * Delete up to {@code limit} readings of a station with IDs up to {@code maxId}, in their own transaction.
+     *
+     * @return the number of readings deleted
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+        DELETE FROM weather_readings
+        WHERE id IN (SELECT id FROM weather_readings WHERE station_id = :stationId AND id <= :maxId LIMIT :limit)
+        """, nativeQuery = true)
+    int deleteChunkForStation(
+            @Param("stationId") String stationId,
+            @Param("maxId") long maxId,
+            @Param("limit") int limit);
+
+    /**
+     * Delete up to {@code limit} readings with IDs up to {@code maxId}, in their own transaction.
+     *
+     * @return the number of readings deleted
      */
+    @Transactional
+    @Modifying
     @Query(value = """
-        SELECT 
-            DATE_TRUNC('hour', timestamp) as hour,
-            AVG(temperature) as avg_temp,
-            AVG(humidity) as avg_humidity,
-            AVG(pressure) as avg_pressure,
-            AVG(wind_speed) as avg_wind_speed,
-            SUM(rainfall) as total_rainfall
-        FROM weather_readings 
-        WHERE timestamp >= :since
-        GROUP BY DATE_TRUNC('hour', timestamp)
-        ORDER BY hour ASC
+        DELETE FROM weather_readings
+        WHERE id IN (SELECT id FROM weather_readings WHERE id <= :maxId LIMIT :limit)
         """, nativeQuery = true)
-    List<Object[]> getHourlyAverages(@Param("since") LocalDateTime since);
+    int deleteChunk(@Param("maxId") long maxId, @Param("limit") int limit);
 
     /**
      * Count readings per station.
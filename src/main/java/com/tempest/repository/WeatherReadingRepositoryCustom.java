@@ -0,0 +1,20 @@
+package com.tempest.repository;
+
+import com.tempest.entity.WeatherReading;
+
+import java.util.List;
+
+/**
+ * Custom JDBC-backed operations for WeatherReading that Spring Data cannot derive.
+ */
+public interface WeatherReadingRepositoryCustom {
+
+    /**
+     * Insert readings using JDBC batch statements.
+     * Generated IDs are written back onto the given entities.
+     *
+     * @param readings the readings to insert
+     * @return the same readings with their IDs populated
+     */
+    List<WeatherReading> insertAll(List<WeatherReading> readings);
+}
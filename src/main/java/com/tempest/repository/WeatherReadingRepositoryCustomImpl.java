@@ -0,0 +1,90 @@
+package com.tempest.repository;
+
+import com.tempest.entity.WeatherReading;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC implementation of {@link WeatherReadingRepositoryCustom}.
+ * WeatherReading uses IDENTITY ids, which disables Hibernate insert batching,
+ * so bulk inserts go through JdbcTemplate instead.
+ */
+@RequiredArgsConstructor
+public class WeatherReadingRepositoryCustomImpl implements WeatherReadingRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL = """
+        INSERT INTO weather_readings
+            (station_id, timestamp, temperature, humidity, pressure, wind_speed, wind_direction,
+             rainfall, uv_index, light_level, battery_voltage, created_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<WeatherReading> insertAll(List<WeatherReading> readings) {
+        LocalDateTime now = LocalDateTime.now();
+        for (WeatherReading reading : readings) {
+            if (reading.getTimestamp() == null) {
+                reading.setTimestamp(now);
+            }
+            if (reading.getCreatedAt() == null) {
+                reading.setCreatedAt(now);
+            }
+        }
+
+        for (int start = 0; start < readings.size(); start += BATCH_SIZE) {
+            List<WeatherReading> chunk = readings.subList(start, Math.min(start + BATCH_SIZE, readings.size()));
+            GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+
+            jdbcTemplate.batchUpdate(
+                    con -> con.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            bind(ps, chunk.get(i));
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    },
+                    keyHolder);
+
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            for (int i = 0; i < keys.size() && i < chunk.size(); i++) {
+                Object key = keys.get(i).values().iterator().next();
+                chunk.get(i).setId(((Number) key).longValue());
+            }
+        }
+
+        return readings;
+    }
+
+    private void bind(PreparedStatement ps, WeatherReading reading) throws SQLException {
+        ps.setString(1, reading.getStationId());
+        ps.setObject(2, reading.getTimestamp());
+        ps.setObject(3, reading.getTemperature(), Types.DOUBLE);
+        ps.setObject(4, reading.getHumidity(), Types.DOUBLE);
+        ps.setObject(5, reading.getPressure(), Types.DOUBLE);
+        ps.setObject(6, reading.getWindSpeed(), Types.DOUBLE);
+        ps.setObject(7, reading.getWindDirection(), Types.DOUBLE);
+        ps.setObject(8, reading.getRainfall(), Types.DOUBLE);
+        ps.setObject(9, reading.getUvIndex(), Types.DOUBLE);
+        ps.setObject(10, reading.getLightLevel(), Types.DOUBLE);
+        ps.setObject(11, reading.getBatteryVoltage(), Types.DOUBLE);
+        ps.setObject(12, reading.getCreatedAt());
+    }
+}
@@ -8,7 +8,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface WeatherStationRepository extends JpaRepository<WeatherStation, Long> {
+public interface WeatherStationRepository extends JpaRepository<WeatherStation, Long>, WeatherStationRepositoryCustom {
 
     Optional<WeatherStation> findByStationId(String stationId);
 
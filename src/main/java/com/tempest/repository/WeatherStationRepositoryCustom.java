@@ -0,0 +1,18 @@
+package com.tempest.repository;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Custom JDBC-backed operations for WeatherStation.
+ */
+public interface WeatherStationRepositoryCustom {
+
+    /**
+     * Write accumulated last seen times to the stations table in one batch.
+     * A station's time only moves forward, so a late flush never overwrites a newer value.
+     *
+     * @param lastSeenByStation last seen time per station ID
+     */
+    void updateLastSeen(Map<String, LocalDateTime> lastSeenByStation);
+}
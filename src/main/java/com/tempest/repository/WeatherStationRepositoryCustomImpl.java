@@ -0,0 +1,32 @@
+package com.tempest.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * JDBC implementation of {@link WeatherStationRepositoryCustom}.
+ */
+@RequiredArgsConstructor
+public class WeatherStationRepositoryCustomImpl implements WeatherStationRepositoryCustom {
+
+    private static final String UPDATE_LAST_SEEN_SQL =
+            "UPDATE weather_stations SET last_seen = ? WHERE station_id = ? AND (last_seen IS NULL OR last_seen < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void updateLastSeen(Map<String, LocalDateTime> lastSeenByStation) {
+        if (lastSeenByStation.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = lastSeenByStation.entrySet().stream()
+                .map(entry -> new Object[]{entry.getValue(), entry.getKey(), entry.getValue()})
+                .collect(Collectors.toList());
+        jdbcTemplate.batchUpdate(UPDATE_LAST_SEEN_SQL, args);
+    }
+}
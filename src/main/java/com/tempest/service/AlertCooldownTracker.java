@@ -0,0 +1,135 @@
+package com.tempest.service;
+
+import com.tempest.entity.WeatherAlert;
+import com.tempest.repository.WeatherAlertRepository;
+import com.tempest.repository.WeatherAlertRepositoryCustom.TriggerDelta;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory trigger state of alerts: when each alert last fired and how often it fired since
+ * the last flush. Cooldown checks and trigger bookkeeping are atomic per alert, so two readings
+ * evaluated concurrently cannot both fire an alert. Within a transaction, a trigger only counts
+ * once it commits; a rollback gives the cooldown back. Counters are written to the alerts table
+ * in periodic batches instead of one row update per trigger.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AlertCooldownTracker {
+
+    private final WeatherAlertRepository alertRepository;
+
+    private final Map<Long, TriggerState> states = new ConcurrentHashMap<>();
+
+    /**
+     * Fire an alert unless it is in cooldown.
+     * The first time an alert is seen, its persisted last trigger time seeds the cooldown.
+     * Called within a transaction, the trigger is counted when the transaction commits, and
+     * undone if it rolls back, so alert history that was never written does not hold a cooldown.
+     *
+     * @param alert the alert whose condition is met
+     * @param now   the evaluation time
+     * @return true if the alert fired, false if it is still in cooldown
+     */
+    public boolean tryAcquire(WeatherAlert alert, LocalDateTime now) {
+        boolean transactional = TransactionSynchronizationManager.isSynchronizationActive();
+        TriggerState[] previous = new TriggerState[1];
+        boolean[] acquired = new boolean[1];
+        states.compute(alert.getId(), (id, state) -> {
+            LocalDateTime last = state != null ? state.lastTriggeredAt() : alert.getLastTriggeredAt();
+            if (last != null && now.isBefore(last.plusMinutes(alert.getCooldownMinutes()))) {
+                return state;
+            }
+            acquired[0] = true;
+            previous[0] = state;
+            long pending = state != null ? state.pendingCount() : 0;
+            return new TriggerState(now, transactional ? pending : pending + 1);
+        });
+        if (acquired[0] && transactional) {
+            Long alertId = alert.getId();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        states.computeIfPresent(alertId, (id, state) ->
+                                new TriggerState(state.lastTriggeredAt(), state.pendingCount() + 1));
+                    } else {
+                        release(alertId, now, previous[0] != null
+                                ? previous[0].lastTriggeredAt() : alert.getLastTriggeredAt());
+                    }
+                }
+            });
+        }
+        return acquired[0];
+    }
+
+    /**
+     * Undo an acquisition whose transaction did not commit, unless the alert fired again since.
+     *
+     * @param previousTriggeredAt the last trigger time before the acquisition, or null if it never fired
+     */
+    private void release(Long alertId, LocalDateTime acquiredAt, LocalDateTime previousTriggeredAt) {
+        states.computeIfPresent(alertId, (id, state) -> {
+            if (!state.lastTriggeredAt().equals(acquiredAt)) {
+                return state;
+            }
+            if (previousTriggeredAt == null) {
+                // Never fired, so nothing can be pending either
+                return null;
+            }
+            return new TriggerState(previousTriggeredAt, state.pendingCount());
+        });
+    }
+
+    /**
+     * Write accumulated trigger counts and times to the database.
+     * Deltas that fail to write are kept for the next flush.
+     */
+    @Scheduled(fixedDelayString = "${tempest.alerts.trigger-flush-interval-ms:10000}")
+    @PreDestroy
+    public void flush() {
+        List<TriggerDelta> deltas = new ArrayList<>();
+        for (Long alertId : states.keySet()) {
+            states.computeIfPresent(alertId, (id, state) -> {
+                if (state.pendingCount() > 0) {
+                    deltas.add(new TriggerDelta(id, state.lastTriggeredAt(), state.pendingCount()));
+                    return new TriggerState(state.lastTriggeredAt(), 0);
+                }
+                return state;
+            });
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            alertRepository.applyTriggers(deltas);
+            log.debug("Flushed trigger state for {} alert(s)", deltas.size());
+        } catch (Exception e) {
+            log.error("Failed to flush trigger state for {} alert(s), will retry", deltas.size(), e);
+            for (TriggerDelta delta : deltas) {
+                states.merge(delta.alertId(), new TriggerState(delta.lastTriggeredAt(), delta.count()),
+                        (current, failed) -> new TriggerState(current.lastTriggeredAt(),
+                                current.pendingCount() + failed.pendingCount()));
+            }
+        }
+    }
+
+    /**
+     * Last trigger time and triggers not yet written to the database.
+     */
+    private record TriggerState(LocalDateTime lastTriggeredAt, long pendingCount) {
+    }
+}
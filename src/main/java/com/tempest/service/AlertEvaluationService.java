@@ -2,15 +2,23 @@ package com.tempest.service;
 
 import com.tempest.entity.*;
 import com.tempest.repository.AlertHistoryRepository;
-import com.tempest.repository.WeatherAlertRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service for evaluating weather readings against alert conditions.
@@ -21,62 +29,194 @@ import java.util.List;
 @Slf4j
 public class AlertEvaluationService {
 
-    private final WeatherAlertRepository alertRepository;
+    private final AlertRuleIndex ruleIndex;
+    private final AlertCooldownTracker cooldownTracker;
+    private final AlertWindowTracker windowTracker;
     private final AlertHistoryRepository historyRepository;
     private final NotificationService notificationService;
 
+    /**
+     * Newest reading evaluated per station; older or repeated readings are not evaluated again.
+     * Readings without a station are tracked under {@link ReadingRollup#NO_STATION}, as in the rollups.
+     */
+    private final Map<String, WeatherReading> evaluatedUpTo = new ConcurrentHashMap<>();
+
+    /**
+     * When each station last reported each metric, for NO_DATA alerts.
+     */
+    private final Map<String, Map<WeatherMetric, LocalDateTime>> metricLastSeen = new ConcurrentHashMap<>();
+
     /**
      * Evaluate a weather reading against all applicable alerts.
+     * Readings at or behind the station's evaluated watermark are skipped.
      *
      * @param reading the weather reading to evaluate
      */
     @Transactional
     public void evaluateReading(WeatherReading reading) {
+        if (!advanceWatermark(reading)) {
+            log.debug("Reading {} from station {} already evaluated, skipping", reading.getId(), reading.getStationId());
+            return;
+        }
         log.debug("Evaluating reading {} from station {}", reading.getId(), reading.getStationId());
+        recordMetricsSeen(reading);
 
-        // Get enabled alerts for this station
-        List<WeatherAlert> stationAlerts =
-                alertRepository.findByStationIdAndIsEnabledTrue(reading.getStationId());
+        LocalDateTime now = LocalDateTime.now();
 
-        // Get enabled alerts that apply to all stations
-        List<WeatherAlert> globalAlerts =
-                alertRepository.findByStationIdIsNullAndIsEnabledTrue();
+        // Station and global alerts whose threshold the reading crosses, found via the rule index
+        for (WeatherAlert alert : ruleIndex.findTriggered(reading)) {
+            // Skip if in cooldown; acquiring the trigger is atomic across concurrent evaluations
+            if (!cooldownTracker.tryAcquire(alert, now)) {
+                log.debug("Alert {} is in cooldown, skipping", alert.getId());
+                continue;
+            }
+            handleAlertTriggered(alert, reading, alert.getMetric().extractValue(reading));
+        }
 
-        List<WeatherAlert> allAlerts = new ArrayList<>();
-        allAlerts.addAll(stationAlerts);
-        allAlerts.addAll(globalAlerts);
+        // Windowed alerts compare a value derived from recent readings
+        for (WeatherAlert alert : ruleIndex.findWindowed(reading.getStationId())) {
+            Double value = windowTracker.conditionValue(alert, reading);
+            if (value == null || !alert.getOperator().evaluate(value, alert.getThreshold())) {
+                continue;
+            }
+            if (!cooldownTracker.tryAcquire(alert, now)) {
+                log.debug("Alert {} is in cooldown, skipping", alert.getId());
+                continue;
+            }
+            handleAlertTriggered(alert, reading, value);
+        }
+    }
 
-        for (WeatherAlert alert : allAlerts) {
-            evaluateAlertForReading(alert, reading);
+    /**
+     * Feed readings into the state of windowed alerts without firing anything.
+     * Used for readings that are not evaluated individually, e.g. the older readings of a batch,
+     * so windows still see every sample.
+     *
+     * @param readings the readings, in any order
+     */
+    public void observeReadings(List<WeatherReading> readings) {
+        List<WeatherReading> ordered = new ArrayList<>(readings);
+        ordered.sort(Comparator.comparing(WeatherReading::getTimestamp));
+        for (WeatherReading reading : ordered) {
+            recordMetricsSeen(reading);
+            for (WeatherAlert alert : ruleIndex.findWindowed(reading.getStationId())) {
+                windowTracker.conditionValue(alert, reading);
+            }
         }
     }
 
     /**
-     * Evaluate a single alert against a reading.
+     * Whether a reading is at or behind its station's evaluated watermark.
      *
-     * @param alert   the alert to evaluate
      * @param reading the weather reading
+     * @return true if a reading at least as new has been evaluated
+     */
+    public boolean isEvaluated(WeatherReading reading) {
+        WeatherReading evaluated = evaluatedUpTo.get(stationKey(reading));
+        return evaluated != null && !isNewer(reading, evaluated);
+    }
+
+    /**
+     * Evaluate NO_DATA alerts against the stations' latest readings.
+     * The compared value is the number of minutes since the station last reported the alert's metric.
+     *
+     * @param latestReadings the newest reading of every station
      */
-    private void evaluateAlertForReading(WeatherAlert alert, WeatherReading reading) {
-        // Skip if in cooldown
-        if (alert.isInCooldown()) {
-            log.debug("Alert {} is in cooldown, skipping", alert.getId());
+    @Transactional
+    public void evaluateSilentStations(Collection<WeatherReading> latestReadings) {
+        List<WeatherAlert> alerts = ruleIndex.findNoData();
+        if (alerts.isEmpty()) {
             return;
         }
+        LocalDateTime now = LocalDateTime.now();
 
-        // Extract metric value from reading
-        Double actualValue = extractMetricValue(alert.getMetric(), reading);
-        if (actualValue == null) {
-            log.debug("Metric {} not available in reading {}", alert.getMetric(), reading.getId());
-            return;
+        for (WeatherReading latest : latestReadings) {
+            for (WeatherAlert alert : alerts) {
+                if (alert.getStationId() != null && !alert.getStationId().equals(latest.getStationId())) {
+                    continue;
+                }
+                LocalDateTime lastSeen = lastSeen(latest, alert.getMetric());
+                if (lastSeen == null) {
+                    continue; // Never reported this metric
+                }
+                double minutesSilent = Duration.between(lastSeen, now).toSeconds() / 60.0;
+                if (!alert.getOperator().evaluate(minutesSilent, alert.getThreshold())) {
+                    continue;
+                }
+                if (!cooldownTracker.tryAcquire(alert, now)) {
+                    log.debug("Alert {} is in cooldown, skipping", alert.getId());
+                    continue;
+                }
+                handleAlertTriggered(alert, latest, minutesSilent);
+            }
+        }
+    }
+
+    /**
+     * Key of a reading's station in the per-station maps, which do not accept null keys.
+     */
+    private static String stationKey(WeatherReading reading) {
+        return reading.getStationId() != null ? reading.getStationId() : ReadingRollup.NO_STATION;
+    }
+
+    /**
+     * Move the station's watermark to a reading, claiming its evaluation.
+     * Within a transaction the move only stands once it commits; if it rolls back the watermark
+     * returns to where it was, unless a newer reading moved it since, so the scheduled catch-up
+     * evaluates the reading again.
+     *
+     * @return true if the reading is newer than the watermark
+     */
+    private boolean advanceWatermark(WeatherReading reading) {
+        String stationKey = stationKey(reading);
+        WeatherReading[] previous = new WeatherReading[1];
+        boolean[] advanced = new boolean[1];
+        evaluatedUpTo.compute(stationKey, (stationId, evaluated) -> {
+            if (evaluated == null || isNewer(reading, evaluated)) {
+                advanced[0] = true;
+                previous[0] = evaluated;
+                return reading;
+            }
+            return evaluated;
+        });
+        if (advanced[0] && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        evaluatedUpTo.computeIfPresent(stationKey,
+                                (stationId, evaluated) -> evaluated == reading ? previous[0] : evaluated);
+                    }
+                }
+            });
         }
+        return advanced[0];
+    }
 
-        // Evaluate condition
-        boolean triggered = alert.getOperator().evaluate(actualValue, alert.getThreshold());
+    private static boolean isNewer(WeatherReading candidate, WeatherReading current) {
+        int cmp = candidate.getTimestamp().compareTo(current.getTimestamp());
+        return cmp > 0 || (cmp == 0 && candidate.getId() != null && current.getId() != null
+                && candidate.getId() > current.getId());
+    }
+
+    private void recordMetricsSeen(WeatherReading reading) {
+        Map<WeatherMetric, LocalDateTime> seen = metricLastSeen.computeIfAbsent(
+                stationKey(reading), k -> Collections.synchronizedMap(new EnumMap<>(WeatherMetric.class)));
+        for (WeatherMetric metric : WeatherMetric.values()) {
+            if (metric.extractValue(reading) != null) {
+                seen.merge(metric, reading.getTimestamp(), (a, b) -> a.isAfter(b) ? a : b);
+            }
+        }
+    }
 
-        if (triggered) {
-            handleAlertTriggered(alert, reading, actualValue);
+    private LocalDateTime lastSeen(WeatherReading latest, WeatherMetric metric) {
+        Map<WeatherMetric, LocalDateTime> seen = metricLastSeen.get(stationKey(latest));
+        LocalDateTime lastSeen = seen != null ? seen.get(metric) : null;
+        if (lastSeen == null && metric.extractValue(latest) != null) {
+            // Nothing observed since startup; fall back to the cached latest reading
+            lastSeen = latest.getTimestamp();
         }
+        return lastSeen;
     }
 
     /**
@@ -91,24 +231,7 @@ public class AlertEvaluationService {
                 alert.getName(), alert.getMetric(), alert.getOperator().getSymbol(),
                 alert.getThreshold(), actualValue);
 
-        // Update alert state
-        alert.setLastTriggeredAt(LocalDateTime.now());
-        alert.setTriggerCount(alert.getTriggerCount() + 1);
-        alertRepository.save(alert);
-
-        // Send notification
-        boolean notificationSent = false;
-        String notificationError = null;
-
-        try {
-            notificationService.sendAlertNotification(alert, reading, actualValue);
-            notificationSent = true;
-        } catch (Exception e) {
-            log.error("Failed to send notification for alert {}", alert.getId(), e);
-            notificationError = e.getMessage();
-        }
-
-        // Record history
+        // Record history; delivery outcome is filled in by the notification dispatcher
         AlertHistory history = AlertHistory.builder()
                 .alertId(alert.getId())
                 .alertName(alert.getName())
@@ -118,30 +241,17 @@ public class AlertEvaluationService {
                 .actualValue(actualValue)
                 .thresholdValue(alert.getThreshold())
                 .operator(alert.getOperator())
-                .notificationSent(notificationSent)
-                .notificationError(notificationError)
+                .notificationSent(false)
                 .build();
 
         historyRepository.save(history);
-    }
 
-    /**
-     * Extract metric value from reading based on metric type.
-     *
-     * @param metric  the metric to extract
-     * @param reading the weather reading
-     * @return the metric value, or null if not available
-     */
-    private Double extractMetricValue(WeatherMetric metric, WeatherReading reading) {
-        return switch (metric) {
-            case TEMPERATURE -> reading.getTemperature();
-            case HUMIDITY -> reading.getHumidity();
-            case PRESSURE -> reading.getPressure();
-            case WIND_SPEED -> reading.getWindSpeed();
-            case RAINFALL -> reading.getRainfall();
-            case UV_INDEX -> reading.getUvIndex();
-            case LIGHT_LEVEL -> reading.getLightLevel();
-            case BATTERY_VOLTAGE -> reading.getBatteryVoltage();
-        };
+        // Queue notification
+        try {
+            notificationService.enqueueAlertNotification(alert, reading, actualValue, history.getId());
+        } catch (Exception e) {
+            log.error("Failed to queue notification for alert {}", alert.getId(), e);
+            history.setNotificationError(e.getMessage());
+        }
     }
 }
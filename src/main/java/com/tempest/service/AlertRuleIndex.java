@@ -0,0 +1,294 @@
+package com.tempest.service;
+
+import com.tempest.entity.AlertCondition;
+import com.tempest.entity.ComparisonOperator;
+import com.tempest.entity.WeatherAlert;
+import com.tempest.entity.WeatherMetric;
+import com.tempest.entity.WeatherReading;
+import com.tempest.event.AlertsChangedEvent;
+import com.tempest.repository.WeatherAlertRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory index of enabled alerts, keyed by station and metric.
+ * Within a metric, thresholds are kept sorted per {@link ComparisonOperator}, so the alerts
+ * a value triggers are found with binary searches instead of testing every alert.
+ * Alerts with windowed conditions are listed per station instead, since their compared
+ * value depends on window state, and NO_DATA alerts are kept apart for the silent-station check.
+ * The index is rebuilt lazily from the database after alerts change.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AlertRuleIndex {
+
+    /**
+     * Half-width of the threshold range searched for EQUALS. Twice the epsilon of
+     * {@link ComparisonOperator#evaluate}, which has the final say on every candidate, so
+     * rounding in the bounds cannot make the index disagree with it.
+     */
+    private static final double EQUALS_SEARCH_RADIUS = 0.02;
+
+    private final WeatherAlertRepository alertRepository;
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    /**
+     * Find the enabled INSTANT alerts, for the reading's station or for all stations,
+     * whose threshold condition is met by the reading. Cooldown is not checked.
+     *
+     * @param reading the weather reading
+     * @return the triggered alerts
+     */
+    public List<WeatherAlert> findTriggered(WeatherReading reading) {
+        Snapshot current = currentSnapshot();
+        List<WeatherAlert> triggered = new ArrayList<>();
+        collect(current.byStation.get(reading.getStationId()), reading, triggered);
+        collect(current.global, reading, triggered);
+        return triggered;
+    }
+
+    /**
+     * Find the enabled alerts with windowed conditions that apply to a station,
+     * including alerts for all stations. These are evaluated individually against window state.
+     *
+     * @param stationId the station ID
+     * @return the windowed alerts
+     */
+    public List<WeatherAlert> findWindowed(String stationId) {
+        Snapshot current = currentSnapshot();
+        List<WeatherAlert> stationAlerts = current.windowedByStation.getOrDefault(stationId, List.of());
+        if (current.windowedGlobal.isEmpty()) {
+            return stationAlerts;
+        }
+        List<WeatherAlert> alerts = new ArrayList<>(stationAlerts);
+        alerts.addAll(current.windowedGlobal);
+        return alerts;
+    }
+
+    /**
+     * Find the enabled NO_DATA alerts, for any station.
+     *
+     * @return the NO_DATA alerts
+     */
+    public List<WeatherAlert> findNoData() {
+        return currentSnapshot().noData;
+    }
+
+    /**
+     * Mark the index stale; it is reloaded on the next lookup.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Rebuild after alert changes have been committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAlertsChanged(AlertsChangedEvent event) {
+        log.debug("Alert {} changed, invalidating rule index", event.alertId());
+        invalidate();
+    }
+
+    private Snapshot currentSnapshot() {
+        Snapshot current = snapshot;
+        long expected = generation.get();
+        if (current != null && current.generation == expected) {
+            return current;
+        }
+        // A lock rather than a monitor: the rebuild queries the database and may run on a virtual thread
+        rebuildLock.lock();
+        try {
+            current = snapshot;
+            expected = generation.get();
+            if (current == null || current.generation != expected) {
+                current = build(expected);
+                snapshot = current;
+            }
+            return current;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private Snapshot build(long forGeneration) {
+        List<WeatherAlert> alerts = alertRepository.findEnabledForIndex();
+
+        Map<String, Map<WeatherMetric, List<WeatherAlert>>> stationGroups = new HashMap<>();
+        Map<WeatherMetric, List<WeatherAlert>> globalGroups = new EnumMap<>(WeatherMetric.class);
+        Map<String, List<WeatherAlert>> windowedByStation = new HashMap<>();
+        List<WeatherAlert> windowedGlobal = new ArrayList<>();
+        List<WeatherAlert> noData = new ArrayList<>();
+        for (WeatherAlert alert : alerts) {
+            if (alert.getCondition() == AlertCondition.NO_DATA) {
+                noData.add(alert);
+                continue;
+            }
+            if (alert.getCondition() != null && alert.getCondition().isWindowed()) {
+                if (alert.getStationId() == null) {
+                    windowedGlobal.add(alert);
+                } else {
+                    windowedByStation.computeIfAbsent(alert.getStationId(), k -> new ArrayList<>()).add(alert);
+                }
+                continue;
+            }
+            Map<WeatherMetric, List<WeatherAlert>> groups = alert.getStationId() == null
+                    ? globalGroups
+                    : stationGroups.computeIfAbsent(alert.getStationId(), k -> new EnumMap<>(WeatherMetric.class));
+            groups.computeIfAbsent(alert.getMetric(), k -> new ArrayList<>()).add(alert);
+        }
+
+        Map<String, Map<WeatherMetric, MetricRules>> byStation = new HashMap<>();
+        stationGroups.forEach((stationId, groups) -> byStation.put(stationId, index(groups)));
+
+        log.info("Alert rule index built with {} enabled alert(s) across {} station(s)",
+                alerts.size(), byStation.size());
+        return new Snapshot(forGeneration, byStation, index(globalGroups), windowedByStation, windowedGlobal,
+                noData);
+    }
+
+    private static Map<WeatherMetric, MetricRules> index(Map<WeatherMetric, List<WeatherAlert>> groups) {
+        Map<WeatherMetric, MetricRules> rules = new EnumMap<>(WeatherMetric.class);
+        groups.forEach((metric, alerts) -> rules.put(metric, new MetricRules(alerts)));
+        return rules;
+    }
+
+    private static void collect(Map<WeatherMetric, MetricRules> rules, WeatherReading reading,
+                                List<WeatherAlert> triggered) {
+        if (rules == null) {
+            return;
+        }
+        rules.forEach((metric, metricRules) -> {
+            Double value = metric.extractValue(reading);
+            if (value != null) {
+                metricRules.collect(value, triggered);
+            }
+        });
+    }
+
+    private record Snapshot(long generation,
+                            Map<String, Map<WeatherMetric, MetricRules>> byStation,
+                            Map<WeatherMetric, MetricRules> global,
+                            Map<String, List<WeatherAlert>> windowedByStation,
+                            List<WeatherAlert> windowedGlobal,
+                            List<WeatherAlert> noData) {
+    }
+
+    /**
+     * Alerts on one metric, with thresholds sorted ascending per operator.
+     */
+    private static final class MetricRules {
+
+        private final Map<ComparisonOperator, SortedThresholds> byOperator = new EnumMap<>(ComparisonOperator.class);
+
+        MetricRules(List<WeatherAlert> alerts) {
+            Map<ComparisonOperator, List<WeatherAlert>> grouped = new EnumMap<>(ComparisonOperator.class);
+            for (WeatherAlert alert : alerts) {
+                grouped.computeIfAbsent(alert.getOperator(), k -> new ArrayList<>()).add(alert);
+            }
+            grouped.forEach((operator, group) -> byOperator.put(operator, new SortedThresholds(group)));
+        }
+
+        void collect(double value, List<WeatherAlert> triggered) {
+            byOperator.forEach((operator, thresholds) -> {
+                switch (operator) {
+                    // value > threshold: every threshold strictly below the value
+                    case GREATER_THAN -> thresholds.addRange(0, thresholds.lowerBound(value), triggered);
+                    // value >= threshold: every threshold at or below the value
+                    case GREATER_EQUAL -> thresholds.addRange(0, thresholds.upperBound(value), triggered);
+                    // value < threshold: every threshold strictly above the value
+                    case LESS_THAN -> thresholds.addRange(thresholds.upperBound(value), thresholds.size(), triggered);
+                    // value <= threshold: every threshold at or above the value
+                    case LESS_EQUAL -> thresholds.addRange(thresholds.lowerBound(value), thresholds.size(), triggered);
+                    case EQUALS -> thresholds.addMatching(
+                            thresholds.lowerBound(value - EQUALS_SEARCH_RADIUS),
+                            thresholds.upperBound(value + EQUALS_SEARCH_RADIUS), operator, value, triggered);
+                }
+            });
+        }
+    }
+
+    /**
+     * Alerts sorted by threshold, with the thresholds unboxed for binary search.
+     */
+    private static final class SortedThresholds {
+
+        private final double[] thresholds;
+        private final WeatherAlert[] alerts;
+
+        SortedThresholds(List<WeatherAlert> group) {
+            List<WeatherAlert> sorted = new ArrayList<>(group);
+            sorted.sort(Comparator.comparingDouble(WeatherAlert::getThreshold));
+            alerts = sorted.toArray(new WeatherAlert[0]);
+            thresholds = sorted.stream().mapToDouble(WeatherAlert::getThreshold).toArray();
+        }
+
+        int size() {
+            return thresholds.length;
+        }
+
+        /**
+         * Index of the first threshold {@code >= value}.
+         */
+        int lowerBound(double value) {
+            int low = 0;
+            int high = thresholds.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (thresholds[mid] < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Index of the first threshold {@code > value}.
+         */
+        int upperBound(double value) {
+            int low = 0;
+            int high = thresholds.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (thresholds[mid] <= value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        void addRange(int from, int to, List<WeatherAlert> triggered) {
+            if (from < to) {
+                triggered.addAll(Arrays.asList(alerts).subList(from, to));
+            }
+        }
+
+        void addMatching(int from, int to, ComparisonOperator operator, double value, List<WeatherAlert> triggered) {
+            for (int i = from; i < to; i++) {
+                if (operator.evaluate(value, thresholds[i])) {
+                    triggered.add(alerts[i]);
+                }
+            }
+        }
+    }
+}
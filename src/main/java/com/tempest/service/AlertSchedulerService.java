@@ -2,18 +2,14 @@ package com.tempest.service;
 
 import com.tempest.entity.WeatherReading;
 import com.tempest.repository.AlertHistoryRepository;
-import com.tempest.repository.WeatherReadingRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Map;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.Collection;
 
 /**
  * Service for scheduled alert checking and maintenance tasks.
@@ -23,41 +19,46 @@ import java.util.stream.Collectors;
 @Slf4j
 public class AlertSchedulerService {
 
-    private final WeatherReadingRepository readingRepository;
+    private static final int HISTORY_CLEANUP_CHUNK_SIZE = 1000;
+
+    private final LatestReadingCache latestReadingCache;
     private final AlertEvaluationService evaluationService;
     private final AlertHistoryRepository historyRepository;
 
+    private final LocalDateTime startedAt = LocalDateTime.now();
+
+    @Value("${tempest.alerts.checking-enabled:true}")
+    private boolean checkingEnabled;
+
+    @Value("${tempest.alerts.history-retention-days:90}")
+    private int historyRetentionDays;
+
     /**
      * Check alerts every 5 minutes.
-     * Evaluates the latest readings against all active alerts.
+     * Readings are evaluated as they are ingested, so this only evaluates a station's latest
+     * reading if it is past the station's evaluated watermark (e.g. after an ingest task was lost),
+     * and fires NO_DATA alerts for stations that went silent.
      */
-    @Scheduled(fixedRate = 300000) // 5 minutes in milliseconds
+    @Scheduled(fixedRateString = "${tempest.alerts.check-interval-ms:300000}")
     public void checkAlerts() {
+        if (!checkingEnabled) {
+            return;
+        }
         log.debug("Starting scheduled alert check");
 
         try {
-            // Get latest readings from the last 10 minutes (to catch any we might have missed)
-            LocalDateTime since = LocalDateTime.now().minusMinutes(10);
-            List<WeatherReading> recentReadings = readingRepository.findReadingsSince(since);
+            Collection<WeatherReading> latestReadings = latestReadingCache.getAllLatest();
 
-            if (recentReadings.isEmpty()) {
-                log.debug("No recent readings found, skipping alert check");
-                return;
+            for (WeatherReading reading : latestReadings) {
+                // Readings stored before startup were evaluated by the previous run
+                if (reading.getCreatedAt() != null && reading.getCreatedAt().isAfter(startedAt)
+                        && !evaluationService.isEvaluated(reading)) {
+                    log.info("Catching up alert evaluation for station {}", reading.getStationId());
+                    evaluationService.evaluateReading(reading);
+                }
             }
 
-            // Group by station and get latest for each
-            Map<String, WeatherReading> latestByStation = recentReadings.stream()
-                    .collect(Collectors.toMap(
-                            WeatherReading::getStationId,
-                            Function.identity(),
-                            (r1, r2) -> r1.getTimestamp().isAfter(r2.getTimestamp()) ? r1 : r2
-                    ));
-
-            log.info("Checking alerts for {} stations with recent readings", latestByStation.size());
-
-            for (WeatherReading reading : latestByStation.values()) {
-                evaluationService.evaluateReading(reading);
-            }
+            evaluationService.evaluateSilentStations(latestReadings);
 
             log.debug("Alert check completed successfully");
         } catch (Exception e) {
@@ -67,19 +68,24 @@ public class AlertSchedulerService {
 
     /**
      * Cleanup old alert history entries.
-     * Runs daily at 2 AM to maintain database size.
+     * Runs daily at 2 AM to maintain database size. Entries are deleted in chunks,
+     * each in its own transaction, so cleanup never holds long locks.
      */
     @Scheduled(cron = "0 0 2 * * *")
-    @Transactional
     public void cleanupOldHistory() {
         log.info("Starting alert history cleanup");
 
         try {
-            // Keep history for 90 days
-            LocalDateTime cutoff = LocalDateTime.now().minusDays(90);
-            historyRepository.deleteByTriggeredAtBefore(cutoff);
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(historyRetentionDays);
+            long total = 0;
+            int deleted;
+            do {
+                deleted = historyRepository.deleteChunkBefore(cutoff, HISTORY_CLEANUP_CHUNK_SIZE);
+                total += deleted;
+            } while (deleted >= HISTORY_CLEANUP_CHUNK_SIZE);
 
-            log.info("Alert history cleanup completed successfully");
+            log.info("Alert history cleanup completed: {} entries older than {} days removed",
+                    total, historyRetentionDays);
         } catch (Exception e) {
             log.error("Error during alert history cleanup", e);
         }
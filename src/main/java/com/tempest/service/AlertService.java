@@ -1,13 +1,16 @@
 package com.tempest.service;
 
+import com.tempest.entity.AlertCondition;
 import com.tempest.entity.AlertHistory;
 import com.tempest.entity.NotificationType;
 import com.tempest.entity.WeatherAlert;
+import com.tempest.event.AlertsChangedEvent;
 import com.tempest.repository.AlertHistoryRepository;
 import com.tempest.repository.WeatherAlertRepository;
 import com.tempest.repository.WeatherStationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
@@ -29,6 +32,7 @@ public class AlertService {
     private final WeatherAlertRepository alertRepository;
     private final AlertHistoryRepository historyRepository;
     private final WeatherStationRepository stationRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a new alert.
@@ -40,7 +44,9 @@ public class AlertService {
     public WeatherAlert createAlert(WeatherAlert alert) {
         validateAlert(alert);
         log.info("Creating alert: {} for metric: {}", alert.getName(), alert.getMetric());
-        return alertRepository.save(alert);
+        WeatherAlert saved = alertRepository.save(alert);
+        eventPublisher.publishEvent(new AlertsChangedEvent(saved.getId()));
+        return saved;
     }
 
     /**
@@ -63,14 +69,19 @@ public class AlertService {
         existing.setStationId(alertUpdate.getStationId());
         existing.setMetric(alertUpdate.getMetric());
         existing.setOperator(alertUpdate.getOperator());
+        existing.setCondition(alertUpdate.getCondition());
+        existing.setWindowMinutes(alertUpdate.getWindowMinutes());
         existing.setThreshold(alertUpdate.getThreshold());
         existing.setUserEmail(alertUpdate.getUserEmail());
         existing.setUserPhone(alertUpdate.getUserPhone());
         existing.setNotificationType(alertUpdate.getNotificationType());
         existing.setCooldownMinutes(alertUpdate.getCooldownMinutes());
+        existing.setDigestWindowMinutes(alertUpdate.getDigestWindowMinutes());
 
         log.info("Updated alert: {}", id);
-        return alertRepository.save(existing);
+        WeatherAlert saved = alertRepository.save(existing);
+        eventPublisher.publishEvent(new AlertsChangedEvent(id));
+        return saved;
     }
 
     /**
@@ -81,6 +92,7 @@ public class AlertService {
     public void deleteAlert(Long id) {
         log.info("Deleting alert: {}", id);
         alertRepository.deleteById(id);
+        eventPublisher.publishEvent(new AlertsChangedEvent(id));
     }
 
     /**
@@ -97,7 +109,9 @@ public class AlertService {
 
         alert.setIsEnabled(enabled);
         log.info("Alert {} {}", id, enabled ? "enabled" : "disabled");
-        return alertRepository.save(alert);
+        WeatherAlert saved = alertRepository.save(alert);
+        eventPublisher.publishEvent(new AlertsChangedEvent(id));
+        return saved;
     }
 
     /**
@@ -178,6 +192,15 @@ public class AlertService {
             throw new IllegalArgumentException("Operator is required");
         }
 
+        // Condition validation
+        if (alert.getCondition() == null) {
+            alert.setCondition(AlertCondition.INSTANT);
+        }
+        if (alert.getCondition().isWindowed()
+                && (alert.getWindowMinutes() == null || alert.getWindowMinutes() <= 0)) {
+            throw new IllegalArgumentException("Window minutes must be positive for " + alert.getCondition() + " alerts");
+        }
+
         // Threshold validation
         if (alert.getThreshold() == null) {
             throw new IllegalArgumentException("Threshold is required");
@@ -203,6 +226,11 @@ public class AlertService {
             }
         }
 
+        // Digest window validation
+        if (alert.getDigestWindowMinutes() != null && alert.getDigestWindowMinutes() < 0) {
+            throw new IllegalArgumentException("Digest window cannot be negative");
+        }
+
         // Validate station exists if specified
         if (alert.getStationId() != null && !alert.getStationId().trim().isEmpty()) {
             stationRepository.findByStationId(alert.getStationId())
@@ -0,0 +1,178 @@
+package com.tempest.service;
+
+import com.tempest.entity.AlertCondition;
+import com.tempest.entity.WeatherAlert;
+import com.tempest.entity.WeatherMetric;
+import com.tempest.entity.WeatherReading;
+import com.tempest.event.AlertsChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Incremental state for windowed alert conditions.
+ * Averages and changes come from per-station ring buffers of recent metric values with a running
+ * sum, shared by all alerts on the same station, metric and window length, and are only evaluated
+ * once the readings cover the whole window, so a station's first reading never fires a windowed
+ * alert on its own; sustained conditions
+ * track since when they have held per alert and station, without bridging gaps in the data longer
+ * than the window. Each reading costs O(1) amortized per alert, and readings at or before the
+ * newest one already seen are not applied twice.
+ */
+@Component
+public class AlertWindowTracker {
+
+    private final Map<WindowKey, MetricWindow> windows = new ConcurrentHashMap<>();
+    private final Map<SustainedKey, SustainedState> sustained = new ConcurrentHashMap<>();
+
+    /**
+     * Apply a reading to a windowed alert's state and return the value to compare with its threshold.
+     *
+     * @param alert   an alert with a windowed condition
+     * @param reading a reading from a station the alert applies to
+     * @return the window average, the change over the window, or, for SUSTAINED, the latest value
+     * once the condition has held for the whole window; null if the alert cannot fire yet, including
+     * while the readings do not cover the window
+     */
+    public Double conditionValue(WeatherAlert alert, WeatherReading reading) {
+        Double value = alert.getMetric().extractValue(reading);
+        if (value == null) {
+            return null;
+        }
+        long timestamp = reading.getTimestamp().toEpochSecond(ZoneOffset.UTC);
+        long windowSeconds = alert.getWindowMinutes() * 60L;
+
+        if (alert.getCondition() == AlertCondition.SUSTAINED) {
+            boolean met = alert.getOperator().evaluate(value, alert.getThreshold());
+            SustainedState state = sustained.compute(
+                    new SustainedKey(alert.getId(), reading.getStationId()),
+                    (key, current) -> SustainedState.next(current, timestamp, value, met, windowSeconds));
+            return state.heldFor(windowSeconds) ? state.lastValue() : null;
+        }
+
+        MetricWindow window = windows.computeIfAbsent(
+                new WindowKey(reading.getStationId(), alert.getMetric(), windowSeconds), key -> new MetricWindow());
+        synchronized (window) {
+            window.add(timestamp, value, windowSeconds);
+            if (!window.covers(windowSeconds)) {
+                return null;
+            }
+            return alert.getCondition() == AlertCondition.WINDOW_AVERAGE ? window.average() : window.change();
+        }
+    }
+
+    /**
+     * Forget sustained state of a changed alert; its threshold or operator may differ now.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAlertsChanged(AlertsChangedEvent event) {
+        sustained.keySet().removeIf(key -> key.alertId().equals(event.alertId()));
+    }
+
+    private record WindowKey(String stationId, WeatherMetric metric, long windowSeconds) {
+    }
+
+    private record SustainedKey(Long alertId, String stationId) {
+    }
+
+    /**
+     * Since when a condition has held (null if it does not hold) as of the newest reading seen.
+     * A gap longer than the window between readings breaks the run, since nothing shows
+     * that the condition held during it.
+     */
+    private record SustainedState(Long trueSince, long lastTimestamp, double lastValue) {
+
+        static SustainedState next(SustainedState current, long timestamp, double value, boolean met,
+                                   long maxGapSeconds) {
+            if (current != null && timestamp <= current.lastTimestamp()) {
+                return current;
+            }
+            boolean continues = current != null && current.trueSince() != null
+                    && timestamp - current.lastTimestamp() <= maxGapSeconds;
+            Long since = !met ? null : continues ? current.trueSince() : timestamp;
+            return new SustainedState(since, timestamp, value);
+        }
+
+        boolean heldFor(long seconds) {
+            return trueSince != null && lastTimestamp - trueSince >= seconds;
+        }
+    }
+
+    /**
+     * Ring buffer of (timestamp, value) samples in ascending time order with a running sum.
+     * Callers synchronize on the window.
+     */
+    private static final class MetricWindow {
+
+        private long[] timestamps = new long[16];
+        private double[] values = new double[16];
+        private int head;
+        private int size;
+        private double sum;
+        private boolean evicted;
+        private long lastEvicted;
+
+        void add(long timestamp, double value, long windowSeconds) {
+            if (size > 0 && timestamp <= timestamps[index(size - 1)]) {
+                return; // Already seen, or out of order
+            }
+            if (size == timestamps.length) {
+                grow();
+            }
+            int tail = index(size);
+            timestamps[tail] = timestamp;
+            values[tail] = value;
+            size++;
+            sum += value;
+
+            long cutoff = timestamp - windowSeconds;
+            while (timestamps[head] < cutoff) {
+                evicted = true;
+                lastEvicted = timestamps[head];
+                sum -= values[head];
+                head = (head + 1) % timestamps.length;
+                size--;
+            }
+        }
+
+        /**
+         * Check whether the samples span the whole window: either the retained ones do, or the last
+         * one evicted from before the window is no further than a window from the oldest retained.
+         * Like a sustained run, a longer gap means nothing shows what happened during it.
+         */
+        boolean covers(long windowSeconds) {
+            long oldest = timestamps[head];
+            if (timestamps[index(size - 1)] - oldest >= windowSeconds) {
+                return true;
+            }
+            return evicted && oldest - lastEvicted <= windowSeconds;
+        }
+
+        double average() {
+            return sum / size;
+        }
+
+        double change() {
+            return values[index(size - 1)] - values[head];
+        }
+
+        private int index(int offset) {
+            return (head + offset) % timestamps.length;
+        }
+
+        private void grow() {
+            long[] newTimestamps = new long[timestamps.length * 2];
+            double[] newValues = new double[values.length * 2];
+            for (int i = 0; i < size; i++) {
+                newTimestamps[i] = timestamps[index(i)];
+                newValues[i] = values[index(i)];
+            }
+            timestamps = newTimestamps;
+            values = newValues;
+            head = 0;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.tempest.service;
+
+import com.tempest.entity.WeatherMetric;
+import com.tempest.entity.WeatherReading;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes reading series in the compact columnar format served as {@value #MEDIA_TYPE}.
+ * Charts consume whole columns, so each metric is written as one array instead of
+ * repeating field names and boxed values per reading as JSON does.
+ *
+ * <p>Layout (all multi-byte values little-endian):
+ * <pre>
+ * magic        4 bytes  "TCR" followed by the format version (1)
+ * count        int32    number of readings
+ * base         int64    timestamp of the first reading, epoch seconds of its wall-clock time
+ * deltas       count-1 zigzag varints, seconds between consecutive timestamps
+ * metrics      uint8    number of metric columns
+ * per metric:
+ *   ordinal    uint8    {@link WeatherMetric} ordinal
+ *   presence   ceil(count / 8) bytes, bit i (LSB first) set when reading i has a value
+ *   values     float64  one per set presence bit, in reading order
+ * </pre>
+ * Several stations' series can be sent in one response as a bundle:
+ * <pre>
+ * magic        4 bytes  "TCB" followed by the format version (1)
+ * stations     uint16   number of series
+ * per station:
+ *   id         uint16 byte length, then the UTF-8 station ID
+ *   length     int32    byte length of the series
+ *   series     one series in the layout above
+ * </pre>
+ * The dashboard decoder lives in {@code static/js/columnar.js}.
+ */
+public final class ColumnarReadingEncoder {
+
+    public static final String MEDIA_TYPE = "application/x-tempest-columnar";
+
+    private static final byte[] MAGIC = {'T', 'C', 'R', 1};
+
+    private static final byte[] BUNDLE_MAGIC = {'T', 'C', 'B', 1};
+
+    private ColumnarReadingEncoder() {
+    }
+
+    /**
+     * Encode readings, in the order given, with every metric column.
+     *
+     * @param readings readings to encode, typically in ascending timestamp order
+     * @return the encoded bytes
+     */
+    public static byte[] encode(List<WeatherReading> readings) {
+        int count = readings.size();
+        WeatherMetric[] metrics = WeatherMetric.values();
+        int bitmapLength = (count + 7) / 8;
+
+        // Upper bound: header, 10-byte varints, and every column fully populated
+        ByteBuffer buffer = ByteBuffer
+                .allocate(17 + count * 10 + metrics.length * (1 + bitmapLength + count * Double.BYTES))
+                .order(ByteOrder.LITTLE_ENDIAN);
+
+        buffer.put(MAGIC);
+        buffer.putInt(count);
+
+        long previous = count > 0 ? epochSeconds(readings.get(0)) : 0;
+        buffer.putLong(previous);
+        for (int i = 1; i < count; i++) {
+            long current = epochSeconds(readings.get(i));
+            putVarint(buffer, zigzag(current - previous));
+            previous = current;
+        }
+
+        buffer.put((byte) metrics.length);
+        for (WeatherMetric metric : metrics) {
+            buffer.put((byte) metric.ordinal());
+
+            byte[] bitmap = new byte[bitmapLength];
+            int bitmapPosition = buffer.position();
+            buffer.position(bitmapPosition + bitmapLength);
+            for (int i = 0; i < count; i++) {
+                Double value = metric.extractValue(readings.get(i));
+                if (value != null) {
+                    bitmap[i >> 3] |= (byte) (1 << (i & 7));
+                    buffer.putDouble(value);
+                }
+            }
+            buffer.put(bitmapPosition, bitmap);
+        }
+
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    /**
+     * Encode the series of several stations as one bundle.
+     *
+     * @param seriesByStation readings per station ID, in the order they should be written
+     * @return the encoded bytes
+     */
+    public static byte[] encodeBundle(Map<String, List<WeatherReading>> seriesByStation) {
+        List<byte[]> ids = new ArrayList<>(seriesByStation.size());
+        List<byte[]> series = new ArrayList<>(seriesByStation.size());
+        int length = BUNDLE_MAGIC.length + Short.BYTES;
+        for (Map.Entry<String, List<WeatherReading>> entry : seriesByStation.entrySet()) {
+            byte[] id = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            byte[] encoded = encode(entry.getValue());
+            ids.add(id);
+            series.add(encoded);
+            length += Short.BYTES + id.length + Integer.BYTES + encoded.length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(BUNDLE_MAGIC);
+        buffer.putShort((short) ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            buffer.putShort((short) ids.get(i).length);
+            buffer.put(ids.get(i));
+            buffer.putInt(series.get(i).length);
+            buffer.put(series.get(i));
+        }
+        return buffer.array();
+    }
+
+    private static long epochSeconds(WeatherReading reading) {
+        return reading.getTimestamp().toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static void putVarint(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+}
@@ -0,0 +1,187 @@
+package com.tempest.service;
+
+import com.tempest.dto.StationDashboardDTO;
+import com.tempest.dto.WeatherStatsDTO;
+import com.tempest.entity.WeatherReading;
+import com.tempest.entity.WeatherStation;
+import com.tempest.event.ReadingsDeletedEvent;
+import com.tempest.event.ReadingsRecordedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of the per-station dashboard model (current reading, 24h and 7d stats).
+ * An entry is reassembled only after its station records or deletes readings or is renamed,
+ * or once it is older than the TTL so the stats windows keep sliding; otherwise page views are served
+ * from memory. Entry versions give the page a validator for conditional GETs.
+ * Readings are announced only after the transaction that stored them and their rollups commits,
+ * and the latest reading cache applies them before this cache drops the entries, so an entry
+ * reassembled after an invalidation never misses the readings that caused it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardCache {
+
+    private final WeatherService weatherService;
+    private final QueryFanOut queryFanOut;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Bumped per station on invalidation; entries loaded under an older generation are stale.
+     */
+    private final Map<String, Long> generations = new ConcurrentHashMap<>();
+
+    private final AtomicLong versions = new AtomicLong();
+
+    /**
+     * Distinguishes versions issued by this process from those of an earlier run.
+     */
+    private final String instanceId = Long.toHexString(System.currentTimeMillis());
+
+    /**
+     * Maximum age of an entry; bounds how far the cached stats windows lag behind.
+     */
+    @Value("${tempest.dashboard.cache-ttl-seconds:300}")
+    private long ttlSeconds;
+
+    /**
+     * Get the dashboard model of the given stations.
+     * Missing or stale entries are assembled together, with one grouped query per stats window
+     * however many stations need it.
+     *
+     * @param stations stations in display order
+     * @return one entry per station, in the same order
+     */
+    public List<StationDashboardDTO> get(List<WeatherStation> stations) {
+        Instant now = Instant.now();
+        Map<String, StationDashboardDTO> models = new HashMap<>();
+        List<WeatherStation> stale = new ArrayList<>();
+        for (WeatherStation station : stations) {
+            Entry entry = entries.get(station.getStationId());
+            if (entry == null || isStale(station, entry, now)) {
+                stale.add(station);
+            } else {
+                models.put(station.getStationId(), entry.model());
+            }
+        }
+        if (!stale.isEmpty()) {
+            models.putAll(load(stale, now));
+        }
+
+        List<StationDashboardDTO> result = new ArrayList<>(stations.size());
+        for (WeatherStation station : stations) {
+            result.add(models.get(station.getStationId()));
+        }
+        return result;
+    }
+
+    /**
+     * Compute an entity tag for a set of entries. It changes whenever any entry is reassembled.
+     */
+    public String etag(List<StationDashboardDTO> stations) {
+        StringBuilder tag = new StringBuilder("W/\"").append(instanceId);
+        for (StationDashboardDTO station : stations) {
+            tag.append('-').append(Long.toHexString(station.getVersion()));
+        }
+        return tag.append('"').toString();
+    }
+
+    /**
+     * Get the time the newest of a set of entries was assembled.
+     */
+    public Instant lastModified(List<StationDashboardDTO> stations) {
+        return stations.stream()
+                .map(StationDashboardDTO::getLoadedAt)
+                .max(Instant::compareTo)
+                .orElse(Instant.EPOCH);
+    }
+
+    /**
+     * Drop the entries of stations that recorded readings. Runs after the latest reading cache
+     * has applied them.
+     */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReadingsRecorded(ReadingsRecordedEvent event) {
+        event.readings().stream()
+                .map(WeatherReading::getStationId)
+                .filter(stationId -> stationId != null)
+                .distinct()
+                .forEach(this::invalidate);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReadingsDeleted(ReadingsDeletedEvent event) {
+        if (event.stationId() != null) {
+            invalidate(event.stationId());
+        } else {
+            generations.replaceAll((stationId, generation) -> generation + 1);
+            entries.clear();
+        }
+    }
+
+    private void invalidate(String stationId) {
+        generations.merge(stationId, 1L, Long::sum);
+        entries.remove(stationId);
+    }
+
+    private boolean isStale(WeatherStation station, Entry entry, Instant now) {
+        return entry.generation() != generations.getOrDefault(station.getStationId(), 0L)
+                || !Objects.equals(entry.model().getName(), station.getName())
+                || Duration.between(entry.model().getLoadedAt(), now).getSeconds() >= ttlSeconds;
+    }
+
+    private Map<String, StationDashboardDTO> load(List<WeatherStation> stations, Instant now) {
+        // Read the generations first so an invalidation during the load marks the result stale
+        Map<String, Long> loadedGenerations = new HashMap<>();
+        List<String> stationIds = new ArrayList<>(stations.size());
+        for (WeatherStation station : stations) {
+            loadedGenerations.put(station.getStationId(), generations.getOrDefault(station.getStationId(), 0L));
+            stationIds.add(station.getStationId());
+        }
+
+        // The two windows are independent queries; run them side by side
+        List<Map<String, WeatherStatsDTO>> stats = queryFanOut.invokeAll(List.of(
+                () -> weatherService.getStatsForStations(stationIds, 24),
+                () -> weatherService.getStatsForStations(stationIds, 168)));
+        Map<String, WeatherStatsDTO> stats24h = stats.get(0);
+        Map<String, WeatherStatsDTO> stats7d = stats.get(1);
+        Map<String, StationDashboardDTO> models = new HashMap<>();
+        for (WeatherStation station : stations) {
+            String stationId = station.getStationId();
+            StationDashboardDTO model = StationDashboardDTO.builder()
+                    .stationId(stationId)
+                    .name(station.getName())
+                    .current(weatherService.getLatestReadingForStation(stationId).orElse(null))
+                    .stats24h(stats24h.get(stationId))
+                    .stats7d(stats7d.get(stationId))
+                    .loadedAt(now)
+                    .version(versions.incrementAndGet())
+                    .build();
+            entries.put(stationId, new Entry(model, loadedGenerations.get(stationId)));
+            models.put(stationId, model);
+        }
+        log.debug("Assembled dashboard entries for {} station(s)", stations.size());
+        return models;
+    }
+
+    private record Entry(StationDashboardDTO model, long generation) {
+    }
+}
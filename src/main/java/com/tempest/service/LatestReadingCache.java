@@ -0,0 +1,148 @@
+package com.tempest.service;
+
+import com.tempest.entity.WeatherReading;
+import com.tempest.event.ReadingsRecordedEvent;
+import com.tempest.repository.WeatherReadingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory cache of the newest reading per station and overall.
+ * Updated write-through when readings are committed and warmed from the database at startup.
+ * Readings replayed out of order never replace a newer cached reading.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LatestReadingCache {
+
+    private final WeatherReadingRepository readingRepository;
+
+    private final Map<String, WeatherReading> latestByStation = new ConcurrentHashMap<>();
+    private final AtomicReference<WeatherReading> latestOverall = new AtomicReference<>();
+    private volatile boolean warmed = false;
+
+    /**
+     * Load the newest reading of every station once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        findLatestPerStation().forEach(this::offer);
+        readingRepository.findTopByOrderByTimestampDesc().ifPresent(this::offer);
+        warmed = true;
+        log.info("Latest reading cache warmed with {} station(s)", latestByStation.size());
+    }
+
+    /**
+     * Apply committed readings to the cache before the request that stored them returns,
+     * and before caches built from it are invalidated.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReadingsRecorded(ReadingsRecordedEvent event) {
+        event.readings().forEach(this::offer);
+    }
+
+    /**
+     * Offer a reading to the cache. It is kept only if it is newer than the cached one.
+     *
+     * @param reading a persisted reading
+     */
+    public void offer(WeatherReading reading) {
+        if (reading.getStationId() != null) {
+            latestByStation.merge(reading.getStationId(), reading, LatestReadingCache::newer);
+        }
+        latestOverall.accumulateAndGet(reading, LatestReadingCache::newer);
+    }
+
+    /**
+     * Get the newest reading across all stations.
+     */
+    public Optional<WeatherReading> getLatest() {
+        if (!warmed) {
+            return readingRepository.findTopByOrderByTimestampDesc();
+        }
+        return Optional.ofNullable(latestOverall.get());
+    }
+
+    /**
+     * Get the newest reading for a station.
+     */
+    public Optional<WeatherReading> getLatest(String stationId) {
+        if (!warmed) {
+            return readingRepository.findTopByStationIdOrderByTimestampDesc(stationId);
+        }
+        return Optional.ofNullable(latestByStation.get(stationId));
+    }
+
+    /**
+     * Get the newest reading of every station.
+     */
+    public Collection<WeatherReading> getAllLatest() {
+        if (!warmed) {
+            return findLatestPerStation();
+        }
+        return List.copyOf(latestByStation.values());
+    }
+
+    /**
+     * Reload a station's cached reading after its readings were deleted.
+     * Readings recorded while the deletion ran are kept, so the station may still have one.
+     */
+    public void reload(String stationId) {
+        WeatherReading removed = latestByStation.remove(stationId);
+        readingRepository.findTopByStationIdOrderByTimestampDesc(stationId).ifPresent(this::offer);
+        if (removed != null && latestOverall.compareAndSet(removed, null)) {
+            readingRepository.findTopByOrderByTimestampDesc().ifPresent(this::offer);
+        }
+    }
+
+    /**
+     * Reload all cached readings after the readings of every station were deleted.
+     */
+    public void reloadAll() {
+        latestByStation.clear();
+        latestOverall.set(null);
+        findLatestPerStation().forEach(this::offer);
+        readingRepository.findTopByOrderByTimestampDesc().ifPresent(this::offer);
+    }
+
+    /**
+     * Look up the newest reading of each station that has readings, registered or not, with one
+     * index probe per station rather than one query that has to scan every reading.
+     * Readings without a station only count towards the newest reading overall.
+     */
+    private List<WeatherReading> findLatestPerStation() {
+        List<WeatherReading> latest = new ArrayList<>();
+        for (String stationId : readingRepository.findDistinctStationIds()) {
+            readingRepository.findTopByStationIdOrderByTimestampDesc(stationId).ifPresent(latest::add);
+        }
+        return latest;
+    }
+
+    private static WeatherReading newer(WeatherReading current, WeatherReading candidate) {
+        if (current == null) {
+            return candidate;
+        }
+        int cmp = candidate.getTimestamp().compareTo(current.getTimestamp());
+        if (cmp > 0 || (cmp == 0 && candidate.getId() != null && current.getId() != null
+                && candidate.getId() > current.getId())) {
+            return candidate;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,225 @@
+package com.tempest.service;
+
+import com.tempest.entity.ReadingRollup;
+import com.tempest.entity.RollupGranularity;
+import com.tempest.entity.WeatherMetric;
+import com.tempest.entity.WeatherReading;
+import com.tempest.repository.ReadingStatsProjection;
+import com.tempest.repository.WeatherReadingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Rolling 24-hour statistics per station, kept in memory for the live reading stream.
+ * Each station's window is a sliding set of hourly buckets that is seeded from the database the
+ * first time the station's stats are requested and then updated incrementally from ingested
+ * readings, so pushing stats to subscribers does not query the database.
+ * Like the rollup-backed stats, the window starts at the top of the hour 24 hours ago.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LiveStatsTracker {
+
+    public static final int WINDOW_HOURS = 24;
+
+    private final WeatherReadingRepository readingRepository;
+
+    private final Map<String, StationWindow> windows = new ConcurrentHashMap<>();
+
+    /**
+     * Add committed readings to their stations' windows.
+     * Stations without a window are skipped; their seed will include these readings.
+     *
+     * @param readings persisted readings, in any order
+     */
+    public void apply(Collection<WeatherReading> readings) {
+        LocalDateTime now = LocalDateTime.now();
+        for (WeatherReading reading : readings) {
+            StationWindow window = reading.getStationId() != null ? windows.get(reading.getStationId()) : null;
+            if (window != null) {
+                window.add(reading, now);
+            }
+        }
+    }
+
+    /**
+     * Get a station's statistics over the last {@value #WINDOW_HOURS} hours.
+     *
+     * @param stationId the station
+     * @return the aggregates, in the database units (°C)
+     */
+    public ReadingStatsProjection getStats(String stationId) {
+        return window(stationId).stats(LocalDateTime.now());
+    }
+
+    /**
+     * Forget a station's window after its readings were deleted; it is re-seeded on next use.
+     */
+    public void evict(String stationId) {
+        windows.remove(stationId);
+    }
+
+    /**
+     * Forget all windows after every reading was deleted.
+     */
+    public void clear() {
+        windows.clear();
+    }
+
+    private StationWindow window(String stationId) {
+        return windows.computeIfAbsent(stationId, StationWindow::new);
+    }
+
+    private static LocalDateTime windowStart(LocalDateTime now) {
+        return RollupGranularity.HOURLY.truncate(now.minusHours(WINDOW_HOURS));
+    }
+
+    /**
+     * Hourly buckets of one station, guarded by its own lock.
+     * A lock rather than a monitor because seeding queries the database, possibly on a virtual thread.
+     */
+    private final class StationWindow {
+
+        private final String stationId;
+        private final TreeMap<LocalDateTime, ReadingRollup> buckets = new TreeMap<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private boolean seeded = false;
+
+        /**
+         * Highest reading ID loaded by the seed; later events repeat those readings.
+         */
+        private long seededUpTo = 0;
+
+        StationWindow(String stationId) {
+            this.stationId = stationId;
+        }
+
+        void add(WeatherReading reading, LocalDateTime now) {
+            lock.lock();
+            try {
+                seed(now);
+                if (reading.getId() != null && reading.getId() <= seededUpTo) {
+                    return;
+                }
+                addToBucket(reading, now);
+                buckets.headMap(windowStart(now)).clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        ReadingStatsProjection stats(LocalDateTime now) {
+            lock.lock();
+            try {
+                seed(now);
+                buckets.headMap(windowStart(now)).clear();
+
+                ReadingRollup total = new ReadingRollup();
+                for (ReadingRollup bucket : buckets.values()) {
+                    total.setReadingCount(total.getReadingCount() + bucket.getReadingCount());
+                    for (WeatherMetric metric : WeatherMetric.values()) {
+                        total.aggregate(metric).merge(bucket.aggregate(metric));
+                    }
+                }
+
+                boolean rained = total.getRainfall().getSamples() > 0;
+                return new LiveStats(
+                        total.getTemperature().getMinimum(),
+                        total.getTemperature().getMaximum(),
+                        total.getTemperature().average(),
+                        total.getHumidity().average(),
+                        total.getPressure().average(),
+                        rained ? total.getRainfall().getTotal() : null,
+                        total.getWindSpeed().getMaximum(),
+                        total.getReadingCount());
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void seed(LocalDateTime now) {
+            if (seeded) {
+                return;
+            }
+            for (WeatherReading reading : readingRepository.findReadingsSinceForStation(stationId, windowStart(now))) {
+                addToBucket(reading, now);
+                seededUpTo = Math.max(seededUpTo, reading.getId());
+            }
+            seeded = true;
+            log.debug("Seeded live stats for station {} with {} hourly bucket(s)", stationId, buckets.size());
+        }
+
+        private void addToBucket(WeatherReading reading, LocalDateTime now) {
+            LocalDateTime bucketStart = RollupGranularity.HOURLY.truncate(reading.getTimestamp());
+            if (bucketStart.isBefore(windowStart(now))) {
+                return;
+            }
+            buckets.computeIfAbsent(bucketStart, start -> ReadingRollup.builder()
+                    .stationId(stationId)
+                    .granularity(RollupGranularity.HOURLY)
+                    .bucketStart(start)
+                    .build())
+                    .add(reading);
+        }
+    }
+
+    private record LiveStats(
+            Double minTemperature,
+            Double maxTemperature,
+            Double avgTemperature,
+            Double avgHumidity,
+            Double avgPressure,
+            Double totalRainfall,
+            Double maxWindSpeed,
+            Long readingCount) implements ReadingStatsProjection {
+
+        @Override
+        public Double getMinTemperature() {
+            return minTemperature;
+        }
+
+        @Override
+        public Double getMaxTemperature() {
+            return maxTemperature;
+        }
+
+        @Override
+        public Double getAvgTemperature() {
+            return avgTemperature;
+        }
+
+        @Override
+        public Double getAvgHumidity() {
+            return avgHumidity;
+        }
+
+        @Override
+        public Double getAvgPressure() {
+            return avgPressure;
+        }
+
+        @Override
+        public Double getTotalRainfall() {
+            return totalRainfall;
+        }
+
+        @Override
+        public Double getMaxWindSpeed() {
+            return maxWindSpeed;
+        }
+
+        @Override
+        public Long getReadingCount() {
+            return readingCount;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.tempest.service;
+
+import com.tempest.entity.NotificationJob;
+import com.tempest.entity.NotificationStatus;
+import com.tempest.event.NotificationsQueuedEvent;
+import com.tempest.repository.NotificationJobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Drains the notification outbox.
+ * Due jobs are claimed with a conditional update, so concurrent drains never deliver a job twice,
+ * and handed to the notification worker pool grouped by recipient and channel. Runs right after notifications are queued and
+ * periodically to pick up retries.
+ */
+@Component
+@Slf4j
+public class NotificationDispatcher {
+
+    private final NotificationJobRepository jobRepository;
+    private final NotificationService notificationService;
+    private final TaskExecutor notificationExecutor;
+
+    @Value("${tempest.notification.outbox.batch-size:50}")
+    private int batchSize;
+
+    /**
+     * Most notifications merged into one digest; further due jobs go out in the next one.
+     */
+    @Value("${tempest.notification.outbox.max-digest-size:20}")
+    private int maxDigestSize;
+
+    public NotificationDispatcher(NotificationJobRepository jobRepository,
+                                  NotificationService notificationService,
+                                  @Qualifier("notificationExecutor") TaskExecutor notificationExecutor) {
+        this.jobRepository = jobRepository;
+        this.notificationService = notificationService;
+        this.notificationExecutor = notificationExecutor;
+    }
+
+    /**
+     * Return jobs claimed by a previous run that never finished delivering.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void releaseStaleClaims() {
+        int released = jobRepository.releaseClaimed();
+        if (released > 0) {
+            log.info("Released {} notification(s) left in progress by a previous run", released);
+        }
+    }
+
+    /**
+     * Drain as soon as the transaction that queued notifications commits.
+     * The drain runs on a notification worker: claims made on the committing thread would join
+     * its finished transaction and never be committed.
+     */
+    @TransactionalEventListener
+    public void onNotificationsQueued(NotificationsQueuedEvent event) {
+        try {
+            notificationExecutor.execute(this::dispatchDue);
+        } catch (TaskRejectedException e) {
+            log.debug("Notification workers busy, leaving {} new job(s) to the next poll", event.count());
+        }
+    }
+
+    /**
+     * Claim due jobs and hand them to the notification workers.
+     * When a job comes due, the other pending jobs for the same recipient and channel are claimed
+     * along with it and delivered as one digest, including those still inside their own digest
+     * window, so a burst of alerts goes out as one message at the end of the first one's window.
+     * Jobs waiting out a retry backoff wait.
+     */
+    @Scheduled(fixedDelayString = "${tempest.notification.outbox.poll-interval-ms:5000}")
+    public void dispatchDue() {
+        LocalDateTime now = LocalDateTime.now();
+        List<NotificationJob> due = jobRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(
+                NotificationStatus.PENDING, now, PageRequest.of(0, batchSize));
+
+        Set<Long> dispatched = new HashSet<>();
+        for (NotificationJob job : due) {
+            if (dispatched.contains(job.getId())) {
+                continue;
+            }
+
+            List<NotificationJob> group = new ArrayList<>();
+            for (NotificationJob candidate : jobRepository.findDigestCandidates(
+                    job.getChannel(), job.getRecipient(), now, PageRequest.of(0, maxDigestSize))) {
+                // Claims are conditional, so jobs taken by a concurrent drain are skipped
+                if (jobRepository.claim(candidate.getId()) == 1) {
+                    candidate.setStatus(NotificationStatus.SENDING);
+                    group.add(candidate);
+                    dispatched.add(candidate.getId());
+                }
+            }
+            if (group.isEmpty()) {
+                continue;
+            }
+
+            try {
+                notificationService.deliver(group);
+            } catch (TaskRejectedException e) {
+                // Workers are saturated: put the jobs back and let a later drain pick them up
+                group.forEach(claimed -> claimed.setStatus(NotificationStatus.PENDING));
+                jobRepository.saveAll(group);
+                log.debug("Notification workers busy, deferring remaining jobs");
+                return;
+            }
+        }
+    }
+}
@@ -1,28 +1,52 @@
 package com.tempest.service;
 
+import com.tempest.entity.AlertCondition;
+import com.tempest.entity.NotificationChannel;
+import com.tempest.entity.NotificationJob;
+import com.tempest.entity.NotificationStatus;
 import com.tempest.entity.NotificationType;
 import com.tempest.entity.WeatherAlert;
 import com.tempest.entity.WeatherReading;
+import com.tempest.event.NotificationsQueuedEvent;
+import com.tempest.repository.AlertHistoryRepository;
+import com.tempest.repository.NotificationJobRepository;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
 
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Service for sending alert notifications via email and SMS.
+ * Notifications are queued in a persistent outbox and delivered on a dedicated
+ * worker pool, so alert evaluation never waits on SMTP or Twilio. Pending notifications
+ * for the same recipient and channel are coalesced into a single digest message.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationService {
 
+    /**
+     * Longest message Twilio accepts; longer ones are rejected outright.
+     */
+    static final int MAX_SMS_LENGTH = 1600;
+
     private final JavaMailSender mailSender;
     private final TwilioSmsSender smsSender;
+    private final NotificationJobRepository jobRepository;
+    private final AlertHistoryRepository historyRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${tempest.notification.from-email}")
     private String fromEmail;
@@ -30,26 +54,143 @@ public class NotificationService {
     @Value("${tempest.notification.from-name}")
     private String fromName;
 
+    @Value("${tempest.notification.outbox.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${tempest.notification.outbox.initial-backoff-seconds:30}")
+    private long initialBackoffSeconds;
+
+    @Value("${tempest.notification.outbox.max-backoff-seconds:3600}")
+    private long maxBackoffSeconds;
+
     /**
-     * Send alert notification via configured channels.
+     * Queue alert notifications for the alert's configured channels.
+     * Jobs join the caller's transaction, so they are only delivered if the alert history commits.
      *
-     * @param alert       the triggered alert
-     * @param reading     the weather reading that triggered the alert
-     * @param actualValue the actual metric value
+     * @param alert          the triggered alert
+     * @param reading        the weather reading that triggered the alert
+     * @param actualValue    the actual metric value
+     * @param alertHistoryId the history entry to update once delivery completes
+     * @throws IllegalStateException if a configured channel has no recipient
      */
-    public void sendAlertNotification(WeatherAlert alert, WeatherReading reading, Double actualValue) {
+    public void enqueueAlertNotification(WeatherAlert alert, WeatherReading reading, Double actualValue,
+                                         Long alertHistoryId) {
         String subject = String.format("Weather Alert: %s", alert.getName());
-        String htmlMessage = buildAlertMessage(alert, reading, actualValue);
-        String textMessage = buildTextAlertMessage(alert, reading, actualValue);
-
-        switch (alert.getNotificationType()) {
-            case EMAIL -> sendEmail(alert.getUserEmail(), subject, htmlMessage);
-            case SMS -> sendSms(alert.getUserPhone(), textMessage);
-            case BOTH -> {
-                sendEmail(alert.getUserEmail(), subject, htmlMessage);
-                sendSms(alert.getUserPhone(), textMessage);
+        String summary = buildTextAlertMessage(alert, reading, actualValue);
+
+        // Digest alerts are held for their window so later notifications can be merged in
+        int digestWindow = alert.getDigestWindowMinutes() != null ? alert.getDigestWindowMinutes() : 0;
+        LocalDateTime deliverAt = LocalDateTime.now().plusMinutes(digestWindow);
+
+        List<NotificationJob> jobs = new ArrayList<>();
+        if (alert.getNotificationType() == NotificationType.EMAIL
+                || alert.getNotificationType() == NotificationType.BOTH) {
+            jobs.add(newJob(alert, alertHistoryId, NotificationChannel.EMAIL, alert.getUserEmail(),
+                    subject, buildAlertMessage(alert, reading, actualValue), summary, deliverAt));
+        }
+        if (alert.getNotificationType() == NotificationType.SMS
+                || alert.getNotificationType() == NotificationType.BOTH) {
+            jobs.add(newJob(alert, alertHistoryId, NotificationChannel.SMS, alert.getUserPhone(),
+                    subject, summary, summary, deliverAt));
+        }
+
+        jobRepository.saveAll(jobs);
+        eventPublisher.publishEvent(new NotificationsQueuedEvent(jobs.size()));
+        log.debug("Queued {} notification(s) for alert {}", jobs.size(), alert.getId());
+    }
+
+    /**
+     * Deliver claimed outbox jobs for one recipient and channel on the notification worker pool,
+     * and record the outcome. A single job is sent as-is; several are merged into one digest
+     * message. Failed attempts are rescheduled with exponential backoff until the attempt limit
+     * is reached.
+     *
+     * @param jobs jobs in SENDING state, all for the same recipient and channel
+     */
+    @Async("notificationExecutor")
+    public void deliver(List<NotificationJob> jobs) {
+        NotificationJob first = jobs.get(0);
+        jobs.forEach(job -> job.setAttempts(job.getAttempts() + 1));
+        try {
+            if (jobs.size() == 1) {
+                switch (first.getChannel()) {
+                    case EMAIL -> sendEmail(first.getRecipient(), first.getSubject(), first.getBody());
+                    case SMS -> sendSms(first.getRecipient(), first.getBody());
+                }
+            } else {
+                switch (first.getChannel()) {
+                    case EMAIL -> sendEmail(first.getRecipient(),
+                            String.format("Weather Alerts: %d alerts", jobs.size()), buildDigestMessage(jobs));
+                    case SMS -> sendSms(first.getRecipient(), buildTextDigestMessage(jobs));
+                }
+                log.info("Delivered digest of {} notifications to {}", jobs.size(), first.getRecipient());
             }
+        } catch (Exception e) {
+            jobs.forEach(job -> recordFailure(job, e));
+            return;
         }
+
+        jobs.forEach(this::recordDelivered);
+    }
+
+    private void recordDelivered(NotificationJob job) {
+        job.setStatus(NotificationStatus.SENT);
+        job.setSentAt(LocalDateTime.now());
+        job.setLastError(null);
+        jobRepository.save(job);
+
+        Long historyId = job.getAlertHistoryId();
+        if (historyId != null
+                && jobRepository.countByAlertHistoryIdAndStatusNot(historyId, NotificationStatus.SENT) == 0) {
+            historyRepository.markNotificationSent(historyId);
+        }
+    }
+
+    private void recordFailure(NotificationJob job, Exception e) {
+        String error = truncate(e.getMessage(), 500);
+        job.setLastError(error);
+
+        if (job.getAttempts() >= maxAttempts) {
+            job.setStatus(NotificationStatus.FAILED);
+            log.error("Giving up on {} notification {} after {} attempts", job.getChannel(), job.getId(), job.getAttempts());
+        } else {
+            long delaySeconds = Math.min(
+                    initialBackoffSeconds << Math.min(job.getAttempts() - 1, 30), maxBackoffSeconds);
+            job.setStatus(NotificationStatus.PENDING);
+            job.setNextAttemptAt(LocalDateTime.now().plusSeconds(delaySeconds));
+            log.warn("{} notification {} failed (attempt {}), retrying in {}s",
+                    job.getChannel(), job.getId(), job.getAttempts(), delaySeconds);
+        }
+        jobRepository.save(job);
+
+        if (job.getAlertHistoryId() != null) {
+            historyRepository.recordNotificationError(job.getAlertHistoryId(), error);
+        }
+    }
+
+    private NotificationJob newJob(WeatherAlert alert, Long alertHistoryId, NotificationChannel channel,
+                                   String recipient, String subject, String body, String summary,
+                                   LocalDateTime deliverAt) {
+        if (recipient == null || recipient.isBlank()) {
+            throw new IllegalStateException("No " + channel.name().toLowerCase() + " recipient configured");
+        }
+        return NotificationJob.builder()
+                .alertId(alert.getId())
+                .alertHistoryId(alertHistoryId)
+                .channel(channel)
+                .recipient(recipient)
+                .subject(subject)
+                .body(body)
+                .summary(truncate(summary, 500))
+                .nextAttemptAt(deliverAt)
+                .build();
+    }
+
+    private static String truncate(String value, int maxLength) {
+        if (value == null || value.length() <= maxLength) {
+            return value;
+        }
+        return value.substring(0, maxLength);
     }
 
     /**
@@ -141,16 +282,76 @@ public class NotificationService {
                         """,
                 alert.getName(),
                 stationInfo,
-                alert.getMetric().getDisplayName(),
+                metricLabel(alert),
                 alert.getOperator().getSymbol(),
                 alert.getThreshold(),
-                alert.getMetric().getUnit(),
+                unitLabel(alert),
                 actualValue,
-                alert.getMetric().getUnit(),
+                unitLabel(alert),
                 timestamp
         );
     }
 
+    /**
+     * Build HTML digest email content listing several alerts.
+     *
+     * @param jobs the merged notifications
+     * @return HTML formatted message
+     */
+    private String buildDigestMessage(List<NotificationJob> jobs) {
+        StringBuilder items = new StringBuilder();
+        for (NotificationJob job : jobs) {
+            items.append(String.format("""
+                                            <li style="font-size: 15px; line-height: 1.6; margin: 8px 0;">%s</li>
+                            """, HtmlUtils.htmlEscape(job.getSummary())));
+        }
+
+        return String.format("""
+                        <html>
+                        <body style="font-family: Arial, sans-serif; color: #333; max-width: 600px; margin: 0 auto;">
+                            <div style="background: linear-gradient(135deg, #667eea 0%%, #764ba2 100%%); padding: 30px; text-align: center; border-radius: 8px 8px 0 0;">
+                                <h1 style="color: white; margin: 0; font-size: 28px;">⚠️ %d Weather Alerts</h1>
+                            </div>
+                            <div style="background: #f7f7f7; padding: 30px; border-radius: 0 0 8px 8px;">
+                                <div style="background: white; padding: 25px; border-radius: 8px; box-shadow: 0 2px 4px rgba(0,0,0,0.1);">
+                                    <ul style="padding-left: 20px; margin: 0;">
+                        %s            </ul>
+                                </div>
+                                <hr style="border: none; border-top: 1px solid #ddd; margin: 25px 0;">
+                                <p style="font-size: 12px; color: #999; text-align: center; margin: 10px 0;">
+                                    This is an automated alert digest from your Tempest Weather Station system.
+                                </p>
+                            </div>
+                        </body>
+                        </html>
+                        """,
+                jobs.size(),
+                items
+        );
+    }
+
+    /**
+     * Build plain text SMS digest content listing several alerts.
+     * Alerts that would push the message past the SMS length limit are only counted at the end.
+     *
+     * @param jobs the merged notifications
+     * @return plain text message of at most {@value #MAX_SMS_LENGTH} characters
+     */
+    private String buildTextDigestMessage(List<NotificationJob> jobs) {
+        StringBuilder message = new StringBuilder(String.format("%d ALERTS", jobs.size()));
+        for (int i = 0; i < jobs.size(); i++) {
+            String item = " || " + jobs.get(i).getSummary().replaceFirst("^ALERT: ", "");
+            int remaining = jobs.size() - i - 1;
+            String more = remaining > 0 ? String.format(" || +%d more", remaining) : "";
+            if (message.length() + item.length() + more.length() > MAX_SMS_LENGTH) {
+                message.append(String.format(" || +%d more", jobs.size() - i));
+                break;
+            }
+            message.append(item);
+        }
+        return message.toString();
+    }
+
     /**
      * Build plain text SMS message content.
      *
@@ -164,13 +365,37 @@ public class NotificationService {
 
         return String.format("ALERT: %s | %s: %.1f%s %s %.1f%s | Station: %s",
                 alert.getName(),
-                alert.getMetric().getDisplayName(),
+                metricLabel(alert),
                 actualValue,
-                alert.getMetric().getUnit(),
+                unitLabel(alert),
                 alert.getOperator().getSymbol(),
                 alert.getThreshold(),
-                alert.getMetric().getUnit(),
+                unitLabel(alert),
                 stationInfo
         );
     }
+
+    /**
+     * Metric name qualified by the alert's condition, e.g. "Pressure (change over 180 min)".
+     *
+     * @param alert the alert
+     * @return the label
+     */
+    private static String metricLabel(WeatherAlert alert) {
+        AlertCondition condition = alert.getCondition();
+        if (condition == null || condition == AlertCondition.INSTANT) {
+            return alert.getMetric().getDisplayName();
+        }
+        return String.format("%s (%s)", alert.getMetric().getDisplayName(), condition.describe(alert.getWindowMinutes()));
+    }
+
+    /**
+     * Unit of the value compared with the alert's threshold.
+     *
+     * @param alert the alert
+     * @return the unit
+     */
+    private static String unitLabel(WeatherAlert alert) {
+        return alert.getCondition() == AlertCondition.NO_DATA ? "min" : alert.getMetric().getUnit();
+    }
 }
@@ -0,0 +1,129 @@
+package com.tempest.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Runs independent read queries concurrently, one virtual thread per query, so a page that
+ * needs several queries waits for the slowest of them instead of their sum.
+ * All fan-outs share one permit pool, which keeps the number of connections they hold at
+ * once well below the connection pool size however many requests fan out together.
+ * Each call is scoped: it returns only after every query has finished, and the first failure
+ * cancels the queries still running. Fan-outs nested inside a fanned-out query run their
+ * queries one after another on that query's thread and permit, so they cannot deadlock.
+ */
+@Component
+public class QueryFanOut {
+
+    private static final ThreadLocal<Boolean> IN_FAN_OUT = ThreadLocal.withInitial(() -> false);
+
+    private final Semaphore permits;
+
+    public QueryFanOut(@Value("${tempest.query.fan-out-permits:4}") int permits) {
+        this.permits = new Semaphore(permits, true);
+    }
+
+    /**
+     * Run queries concurrently and collect their results.
+     *
+     * @param queries queries to run; a single query runs on the calling thread
+     * @return the results, in the order of the queries
+     * @throws RuntimeException the first query failure, unwrapped where possible
+     */
+    public <T> List<T> invokeAll(List<Callable<T>> queries) {
+        if (queries.size() == 1 || IN_FAN_OUT.get()) {
+            List<T> results = new ArrayList<>(queries.size());
+            for (Callable<T> query : queries) {
+                results.add(call(query));
+            }
+            return results;
+        }
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // Results are taken as the queries complete, so a failure is seen as soon as it happens
+            // rather than after every query submitted before the failed one
+            CompletionService<T> completion = new ExecutorCompletionService<>(executor);
+            Map<Future<T>, Integer> positions = new HashMap<>();
+            for (Callable<T> query : queries) {
+                positions.put(completion.submit(() -> withPermit(query)), positions.size());
+            }
+
+            List<T> results = new ArrayList<>(Collections.nCopies(queries.size(), null));
+            try {
+                for (int i = 0; i < queries.size(); i++) {
+                    Future<T> future = completion.take();
+                    results.set(positions.get(future), future.get());
+                }
+            } catch (ExecutionException e) {
+                executor.shutdownNow();
+                throw unwrap(e.getCause());
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for queries", e);
+            }
+            return results;
+        }
+    }
+
+    /**
+     * Split items into chunks and run one query per chunk concurrently.
+     *
+     * @param items     items to query for, e.g. station IDs
+     * @param chunkSize maximum number of items per query
+     * @param query     query for one chunk
+     * @return the per-chunk results, in chunk order
+     */
+    public <I, T> List<T> invokeChunked(List<I> items, int chunkSize, Function<List<I>, T> query) {
+        List<Callable<T>> queries = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            List<I> chunk = items.subList(from, Math.min(from + chunkSize, items.size()));
+            queries.add(() -> query.apply(chunk));
+        }
+        return queries.isEmpty() ? List.of() : invokeAll(queries);
+    }
+
+    private <T> T withPermit(Callable<T> query) throws Exception {
+        permits.acquire();
+        IN_FAN_OUT.set(true);
+        try {
+            return query.call();
+        } finally {
+            IN_FAN_OUT.remove();
+            permits.release();
+        }
+    }
+
+    private static <T> T call(Callable<T> query) {
+        try {
+            return query.call();
+        } catch (Exception e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException("Query failed", cause);
+    }
+}
@@ -0,0 +1,299 @@
+package com.tempest.service;
+
+import com.tempest.dto.ReadingDeletionJobDTO;
+import com.tempest.dto.ReadingDeletionJobDTO.Status;
+import com.tempest.entity.ReadingRollup;
+import com.tempest.entity.RollupGranularity;
+import com.tempest.entity.WeatherReading;
+import com.tempest.event.ReadingsDeletedEvent;
+import com.tempest.repository.ReadingRollupRepository;
+import com.tempest.repository.WeatherReadingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Service deleting readings in bulk as background jobs on the maintenance thread.
+ * Readings are deleted in chunks of bounded size, each in its own short transaction, so neither
+ * the heap nor the table lock grows with the number of readings. A job only deletes readings that
+ * existed when it started. It drops the rollup buckets before the one containing its start, then
+ * rebuilds from the remaining readings the later buckets and any bucket a reading recorded meanwhile
+ * fell into, so readings arriving during the job keep their rollups. Jobs report their progress
+ * until an hour after they finished.
+ */
+@Service
+@Slf4j
+public class ReadingDeletionService {
+
+    private static final Duration FINISHED_JOB_RETENTION = Duration.ofHours(1);
+
+    private final WeatherReadingRepository readingRepository;
+    private final ReadingRollupRepository rollupRepository;
+    private final RollupService rollupService;
+    private final LatestReadingCache latestReadingCache;
+    private final LiveStatsTracker liveStatsTracker;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskExecutor maintenanceExecutor;
+
+    /**
+     * Rows per delete statement.
+     */
+    private final int chunkSize;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Serializes submissions, so a target never has two unfinished jobs.
+     */
+    private final ReentrantLock submitLock = new ReentrantLock();
+
+    public ReadingDeletionService(WeatherReadingRepository readingRepository,
+                                  ReadingRollupRepository rollupRepository,
+                                  RollupService rollupService,
+                                  LatestReadingCache latestReadingCache,
+                                  LiveStatsTracker liveStatsTracker,
+                                  ApplicationEventPublisher eventPublisher,
+                                  @Qualifier("maintenanceExecutor") TaskExecutor maintenanceExecutor,
+                                  @Value("${tempest.retention.chunk-size:5000}") int chunkSize) {
+        this.readingRepository = readingRepository;
+        this.rollupRepository = rollupRepository;
+        this.rollupService = rollupService;
+        this.latestReadingCache = latestReadingCache;
+        this.liveStatsTracker = liveStatsTracker;
+        this.eventPublisher = eventPublisher;
+        this.maintenanceExecutor = maintenanceExecutor;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Start deleting all readings and rollups.
+     *
+     * @return the new job, or the unfinished job already deleting all readings
+     */
+    public ReadingDeletionJobDTO deleteAllReadings() {
+        return submit(null);
+    }
+
+    /**
+     * Start deleting the readings and rollups of a station.
+     *
+     * @return the new job, or the unfinished job already deleting the station's readings
+     */
+    public ReadingDeletionJobDTO deleteReadingsForStation(String stationId) {
+        return submit(stationId);
+    }
+
+    /**
+     * Get the progress of a job.
+     */
+    public Optional<ReadingDeletionJobDTO> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(Job::toDTO);
+    }
+
+    private ReadingDeletionJobDTO submit(String stationId) {
+        submitLock.lock();
+        try {
+            pruneFinishedJobs();
+            for (Job job : jobs.values()) {
+                if (!job.isFinished() && Objects.equals(job.stationId, stationId)) {
+                    return job.toDTO();
+                }
+            }
+            Job job = new Job(UUID.randomUUID().toString(), stationId);
+            jobs.put(job.id, job);
+            maintenanceExecutor.execute(() -> run(job));
+            return job.toDTO();
+        } finally {
+            submitLock.unlock();
+        }
+    }
+
+    private void run(Job job) {
+        String stationId = job.stationId;
+        job.startedAt = LocalDateTime.now();
+        job.status = Status.RUNNING;
+        try {
+            // Readings recorded from here on are kept
+            LocalDateTime jobStart = LocalDateTime.now();
+            long maxId = readingRepository.findMaxId();
+            job.totalReadings = stationId != null ? readingRepository.countByStationId(stationId) : readingRepository.count();
+
+            // Buckets before the one containing the job start only hold deleted readings, unless a
+            // reading with an old timestamp arrives meanwhile; those buckets are rebuilt below
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                LocalDateTime before = granularity.truncate(jobStart);
+                deleteInChunks(stationId != null
+                        ? limit -> rollupRepository.deleteChunkForStationBefore(stationId, granularity.name(), before, limit)
+                        : limit -> rollupRepository.deleteChunkBefore(granularity.name(), before, limit),
+                        deleted -> job.deletedRollups += deleted);
+            }
+            deleteInChunks(stationId != null
+                    ? limit -> readingRepository.deleteChunkForStation(stationId, maxId, limit)
+                    : limit -> readingRepository.deleteChunk(maxId, limit),
+                    deleted -> job.deletedReadings += deleted);
+            for (Bucket bucket : bucketsToRebuild(stationId, jobStart, maxId)) {
+                rollupService.rebuildBucket(bucket.stationId(), bucket.granularity(), bucket.bucketStart());
+            }
+
+            job.finish(Status.COMPLETED, null);
+            log.info("Deleted {} readings and {} rollups {}", job.deletedReadings, job.deletedRollups,
+                    stationId != null ? "for station " + stationId : "of all stations");
+        } catch (Exception e) {
+            log.error("Reading deletion job {} failed after {} readings", job.id, job.deletedReadings, e);
+            job.finish(Status.FAILED, e.getMessage());
+        } finally {
+            // Readings may be gone even if the job failed part way
+            if (stationId != null) {
+                latestReadingCache.reload(stationId);
+                liveStatsTracker.evict(stationId);
+            } else {
+                latestReadingCache.reloadAll();
+                liveStatsTracker.clear();
+            }
+            eventPublisher.publishEvent(new ReadingsDeletedEvent(stationId));
+        }
+    }
+
+    /**
+     * Find the buckets that may mix deleted readings with kept ones: those from the one containing
+     * the job start on, and older ones that readings recorded after the job started fall into.
+     *
+     * @param stationId the station, or null for all stations
+     */
+    private Set<Bucket> bucketsToRebuild(String stationId, LocalDateTime jobStart, long maxId) {
+        Set<Bucket> buckets = new LinkedHashSet<>();
+        Map<RollupGranularity, LocalDateTime> boundaries = new EnumMap<>(RollupGranularity.class);
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            LocalDateTime boundary = granularity.truncate(jobStart);
+            boundaries.put(granularity, boundary);
+            List<ReadingRollup> later = stationId != null
+                    ? rollupRepository.findByStationIdAndGranularityAndBucketStartGreaterThanEqualOrderByBucketStartAsc(
+                            stationId, granularity, boundary)
+                    : rollupRepository.findByGranularityAndBucketStartGreaterThanEqualOrderByBucketStartAsc(
+                            granularity, boundary);
+            later.forEach(rollup -> buckets.add(new Bucket(rollup.getStationId(), granularity, rollup.getBucketStart())));
+        }
+
+        long lastId = maxId;
+        List<WeatherReading> chunk;
+        do {
+            chunk = readingRepository.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(
+                    lastId, Long.MAX_VALUE, PageRequest.of(0, chunkSize));
+            for (WeatherReading reading : chunk) {
+                if (stationId != null && !stationId.equals(reading.getStationId())) {
+                    continue;
+                }
+                String station = reading.getStationId() != null ? reading.getStationId() : ReadingRollup.NO_STATION;
+                boundaries.forEach((granularity, boundary) -> {
+                    LocalDateTime bucketStart = granularity.truncate(reading.getTimestamp());
+                    if (bucketStart.isBefore(boundary)) {
+                        buckets.add(new Bucket(station, granularity, bucketStart));
+                    }
+                });
+            }
+            if (!chunk.isEmpty()) {
+                lastId = chunk.get(chunk.size() - 1).getId();
+            }
+        } while (chunk.size() >= chunkSize);
+        return buckets;
+    }
+
+    /**
+     * Run a chunked delete until a chunk comes back short, reporting each chunk.
+     *
+     * @param deleteChunk deletes up to the given number of rows and returns how many it deleted
+     * @param progress    receives the number of rows deleted by each chunk
+     */
+    private void deleteInChunks(IntUnaryOperator deleteChunk, IntConsumer progress) {
+        int deleted;
+        do {
+            deleted = deleteChunk.applyAsInt(chunkSize);
+            progress.accept(deleted);
+        } while (deleted >= chunkSize);
+    }
+
+    private void pruneFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(FINISHED_JOB_RETENTION);
+        jobs.values().removeIf(job -> job.isFinished() && job.finishedAt.isBefore(cutoff));
+    }
+
+    private record Bucket(String stationId, RollupGranularity granularity, LocalDateTime bucketStart) {
+    }
+
+    /**
+     * Mutable state of a job. Only the maintenance thread writes it once the job is submitted.
+     */
+    private static final class Job {
+
+        private final String id;
+        private final String stationId;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+
+        private volatile Status status = Status.QUEUED;
+        private volatile Long totalReadings;
+        private volatile long deletedReadings;
+        private volatile long deletedRollups;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        private Job(String id, String stationId) {
+            this.id = id;
+            this.stationId = stationId;
+        }
+
+        private boolean isFinished() {
+            return status == Status.COMPLETED || status == Status.FAILED;
+        }
+
+        private void finish(Status status, String error) {
+            this.error = error;
+            this.finishedAt = LocalDateTime.now();
+            this.status = status;
+        }
+
+        private ReadingDeletionJobDTO toDTO() {
+            Status current = status;
+            Long total = totalReadings;
+            long deleted = deletedReadings;
+            Integer percentComplete = null;
+            if (current == Status.COMPLETED) {
+                percentComplete = 100;
+            } else if (total != null) {
+                percentComplete = total > 0 ? (int) Math.min(99, deleted * 100 / total) : 0;
+            }
+            return ReadingDeletionJobDTO.builder()
+                    .jobId(id)
+                    .stationId(stationId)
+                    .status(current)
+                    .totalReadings(total)
+                    .deletedReadings(deleted)
+                    .deletedRollups(deletedRollups)
+                    .percentComplete(percentComplete)
+                    .submittedAt(submittedAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .error(error)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.tempest.service;
+
+import com.tempest.entity.WeatherMetric;
+import com.tempest.entity.WeatherReading;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Downsamples reading series for charts using largest-triangle-three-buckets (LTTB).
+ * LTTB keeps the points that contribute most to the visual shape of the selected metric,
+ * so peaks and troughs survive even at a small fraction of the original point count.
+ */
+public final class ReadingDownsampler {
+
+    private ReadingDownsampler() {
+    }
+
+    /**
+     * Reduce readings to at most {@code maxPoints}, preserving the shape of one metric.
+     * The first and last readings are always kept.
+     *
+     * @param readings  readings in ascending timestamp order
+     * @param maxPoints maximum number of readings to return (values below 3 are raised to 3)
+     * @param metric    metric whose shape drives point selection
+     * @return the selected readings in ascending timestamp order
+     */
+    public static List<WeatherReading> lttb(List<WeatherReading> readings, int maxPoints, WeatherMetric metric) {
+        int threshold = Math.max(maxPoints, 3);
+        int size = readings.size();
+        if (size <= threshold) {
+            return readings;
+        }
+
+        List<WeatherReading> sampled = new ArrayList<>(threshold);
+        double bucketSize = (double) (size - 2) / (threshold - 2);
+
+        int selected = 0;
+        sampled.add(readings.get(0));
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            int bucketStart = (int) Math.floor(bucket * bucketSize) + 1;
+            int bucketEnd = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+
+            // Average point of the next bucket is the third triangle vertex
+            int nextStart = bucketEnd;
+            int nextEnd = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, size);
+            double avgX = 0;
+            double avgY = 0;
+            int avgCount = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                double y = y(readings.get(i), metric);
+                if (!Double.isNaN(y)) {
+                    avgX += x(readings.get(i));
+                    avgY += y;
+                    avgCount++;
+                }
+            }
+            if (avgCount > 0) {
+                avgX /= avgCount;
+                avgY /= avgCount;
+            } else {
+                avgX = x(readings.get(nextEnd - 1));
+                avgY = y(readings.get(selected), metric);
+            }
+
+            double pointX = x(readings.get(selected));
+            double pointY = y(readings.get(selected), metric);
+
+            int best = bucketStart;
+            double maxArea = -1;
+            for (int i = bucketStart; i < bucketEnd; i++) {
+                double area = Math.abs((pointX - avgX) * (y(readings.get(i), metric) - pointY)
+                        - (pointX - x(readings.get(i))) * (avgY - pointY));
+                if (area > maxArea) {
+                    maxArea = area;
+                    best = i;
+                }
+            }
+
+            sampled.add(readings.get(best));
+            selected = best;
+        }
+
+        sampled.add(readings.get(size - 1));
+        return sampled;
+    }
+
+    private static double x(WeatherReading reading) {
+        return reading.getTimestamp().toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static double y(WeatherReading reading, WeatherMetric metric) {
+        Double value = metric.extractValue(reading);
+        return value != null ? value : Double.NaN;
+    }
+}
@@ -0,0 +1,62 @@
+package com.tempest.service;
+
+import com.tempest.entity.WeatherReading;
+import com.tempest.event.ReadingsRecordedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Runs the ingest stages that follow persisting a reading: station upkeep and alert evaluation.
+ * Invoked on the ingest worker pool after the recording transaction commits,
+ * so station POST latency does not depend on SMTP or Twilio round-trips.
+ * Rollups are not updated here; they commit with the readings themselves.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReadingIngestListener {
+
+    private final StationRegistry stationRegistry;
+    private final AlertEvaluationService alertEvaluationService;
+
+    @Async("ingestExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReadingsRecorded(ReadingsRecordedEvent event) {
+        // Only the newest reading per station is evaluated, so replayed batches alert once
+        Map<String, WeatherReading> latestByStation = new HashMap<>();
+        for (WeatherReading reading : event.readings()) {
+            latestByStation.merge(reading.getStationId(), reading,
+                    (r1, r2) -> r2.getTimestamp().isAfter(r1.getTimestamp()) ? r2 : r1);
+        }
+
+        try {
+            stationRegistry.touch(latestByStation.keySet(), LocalDateTime.now());
+        } catch (Exception e) {
+            log.error("Error updating stations {}", latestByStation.keySet(), e);
+        }
+
+        // Older readings of a batch still feed the windows of sustained/average/rate-of-change alerts
+        if (event.readings().size() > latestByStation.size()) {
+            try {
+                alertEvaluationService.observeReadings(event.readings());
+            } catch (Exception e) {
+                log.error("Error updating alert windows for {} readings", event.readings().size(), e);
+            }
+        }
+
+        for (WeatherReading reading : latestByStation.values()) {
+            try {
+                alertEvaluationService.evaluateReading(reading);
+            } catch (Exception e) {
+                log.error("Error evaluating alerts for reading {}", reading.getId(), e);
+            }
+        }
+    }
+}
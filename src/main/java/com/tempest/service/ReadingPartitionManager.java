@@ -0,0 +1,182 @@
+package com.tempest.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps weather_readings range-partitioned by month on PostgreSQL.
+ * Window queries bound the timestamp from below, so PostgreSQL prunes them to the partitions
+ * of the window and their cost no longer grows with the age of the table.
+ * Migration V8 turns the existing table into the archive partition holding the readings before
+ * the month it ran in, with a partition of its own for each month from there; this component
+ * creates monthly partitions ahead of time. Rows outside every monthly range land in a default
+ * partition instead of failing the insert.
+ * Partitions older than the configured age are detached, leaving a plain table to archive or drop.
+ * Other databases have no declarative partitioning; there the table stays a single indexed table.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReadingPartitionManager {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /**
+     * Upper bound in the expression PostgreSQL reports for a range partition.
+     */
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('([^']+)'\\)");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${tempest.partitions.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Number of months ahead of the current one to create partitions for.
+     */
+    @Value("${tempest.partitions.premake-months:3}")
+    private int premakeMonths;
+
+    /**
+     * Partitions ending this many months before the current month are detached; 0 keeps them all.
+     */
+    @Value("${tempest.partitions.detach-after-months:0}")
+    private int detachAfterMonths;
+
+    private volatile boolean active = false;
+
+    /**
+     * Start maintaining the partitions once the application is ready, if the table is partitioned.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equalsIgnoreCase(product)) {
+            log.info("Reading partitioning is not supported on {}; weather_readings stays a single table", product);
+            return;
+        }
+
+        if (!isPartitioned()) {
+            log.info("weather_readings is not partitioned; it was migrated with partitioning disabled");
+            return;
+        }
+        active = true;
+        maintain();
+    }
+
+    /**
+     * Create upcoming monthly partitions and detach expired ones.
+     */
+    @Scheduled(cron = "${tempest.partitions.maintenance-cron:0 15 3 * * *}")
+    public void maintain() {
+        if (!active) {
+            return;
+        }
+        try {
+            createUpcomingPartitions();
+            detachExpiredPartitions();
+        } catch (Exception e) {
+            log.error("Error maintaining reading partitions", e);
+        }
+    }
+
+    private boolean isPartitioned() {
+        Boolean partitioned = jdbcTemplate.queryForObject("""
+                SELECT EXISTS (
+                    SELECT 1 FROM pg_partitioned_table p JOIN pg_class c ON c.oid = p.partrelid
+                    WHERE c.relname = 'weather_readings' AND pg_table_is_visible(c.oid))
+                """, Boolean.class);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    /**
+     * Create monthly partitions from the end of the newest one through the premake horizon.
+     */
+    private void createUpcomingPartitions() {
+        LocalDateTime horizon = monthStart(LocalDateTime.now()).plusMonths(premakeMonths + 1L);
+        LocalDateTime month = partitions().stream()
+                .map(Partition::upperBound)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(monthStart(LocalDateTime.now()));
+
+        for (; month.isBefore(horizon); month = month.plusMonths(1)) {
+            String name = "weather_readings_p" + PARTITION_SUFFIX.format(month);
+            try {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF weather_readings FOR VALUES FROM ('"
+                        + BOUND_FORMAT.format(month) + "') TO ('" + BOUND_FORMAT.format(month.plusMonths(1)) + "')");
+                log.debug("Reading partition {} is in place", name);
+            } catch (DataAccessException e) {
+                // Usually rows for the month already sit in the default partition
+                log.warn("Could not create reading partition {}: {}", name, e.getMessage());
+            }
+        }
+    }
+
+    private void detachExpiredPartitions() {
+        if (detachAfterMonths <= 0) {
+            return;
+        }
+        LocalDateTime cutoff = monthStart(LocalDateTime.now()).minusMonths(detachAfterMonths);
+        for (Partition partition : partitions()) {
+            if (partition.upperBound() != null && !partition.upperBound().isAfter(cutoff)) {
+                jdbcTemplate.execute("ALTER TABLE weather_readings DETACH PARTITION " + partition.name());
+                log.info("Detached reading partition {} (readings before {}); archive or drop it as needed",
+                        partition.name(), partition.upperBound());
+            }
+        }
+    }
+
+    private List<Partition> partitions() {
+        return jdbcTemplate.query("""
+                SELECT c.relname, pg_get_expr(c.relpartbound, c.oid)
+                FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = 'weather_readings'::regclass
+                """, (rs, rowNum) -> new Partition(rs.getString(1), upperBound(rs.getString(2))));
+    }
+
+    /**
+     * Parse the upper bound of a range partition; null for the default partition.
+     */
+    private static LocalDateTime upperBound(String boundExpression) {
+        Matcher matcher = boundExpression != null ? UPPER_BOUND.matcher(boundExpression) : null;
+        if (matcher == null || !matcher.find()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(matcher.group(1).substring(0, 19), BOUND_FORMAT);
+        } catch (DateTimeParseException | IndexOutOfBoundsException e) {
+            log.warn("Unrecognized reading partition bound: {}", boundExpression);
+            return null;
+        }
+    }
+
+    private static LocalDateTime monthStart(LocalDateTime time) {
+        return LocalDate.from(time).withDayOfMonth(1).atStartOfDay();
+    }
+
+    private record Partition(String name, LocalDateTime upperBound) {
+    }
+}
@@ -0,0 +1,110 @@
+package com.tempest.service;
+
+import com.tempest.entity.RollupGranularity;
+import com.tempest.repository.ReadingRollupRepository;
+import com.tempest.repository.WeatherReadingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Service enforcing tiered retention of weather data.
+ * Raw readings are kept for a configurable number of days; after that only their five-minute,
+ * hourly and daily rollups remain, each tier kept for its own period and daily buckets forever.
+ * Rollups are maintained as readings arrive, so expiring a tier is only a delete. Deletes run in
+ * small chunks, each in its own short transaction, so retention never holds long locks.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReadingRetentionService {
+
+    private final WeatherReadingRepository readingRepository;
+    private final ReadingRollupRepository rollupRepository;
+    private final RollupService rollupService;
+
+    @Value("${tempest.retention.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Days raw readings are kept; 0 keeps them forever.
+     */
+    @Value("${tempest.retention.raw-days:30}")
+    private int rawDays;
+
+    @Value("${tempest.rollups.raw-window-hours:48}")
+    private int rawWindowHours;
+
+    @Value("${tempest.retention.chunk-size:5000}")
+    private int chunkSize;
+
+    /**
+     * Expire raw readings and rollups past their retention, nightly on the maintenance thread.
+     */
+    @Async("maintenanceExecutor")
+    @Scheduled(cron = "${tempest.retention.cron:0 30 2 * * *}")
+    public void enforceRetention() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            LocalDateTime rawCutoff = rawCutoff(now);
+            if (rawCutoff != null) {
+                long rolledUpThroughId = rollupService.rolledUpThroughId();
+                if (rolledUpThroughId != Long.MAX_VALUE) {
+                    log.info("Raw reading retention limited to IDs up to {} until the rollup backfill completes",
+                            rolledUpThroughId);
+                }
+                deleteInChunks("raw readings",
+                        limit -> readingRepository.deleteChunkBefore(rawCutoff, rolledUpThroughId, limit));
+            }
+
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                LocalDateTime cutoff = rollupService.retainedSince(granularity, now);
+                if (cutoff != null) {
+                    deleteInChunks(granularity + " rollups",
+                            limit -> rollupRepository.deleteChunkBefore(granularity.name(), cutoff, limit));
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error enforcing reading retention", e);
+        }
+    }
+
+    /**
+     * Get the time before which raw readings are expired, or null if they are kept forever.
+     * Raw readings always cover the windows that are not served from rollups.
+     */
+    private LocalDateTime rawCutoff(LocalDateTime now) {
+        if (rawDays <= 0) {
+            return null;
+        }
+        return now.minusHours(Math.max(rawDays * 24L, rawWindowHours + 24L));
+    }
+
+    /**
+     * Run a chunked delete until a chunk comes back short.
+     *
+     * @param what        description for the log
+     * @param deleteChunk deletes up to the given number of rows and returns how many it deleted
+     */
+    private void deleteInChunks(String what, IntUnaryOperator deleteChunk) {
+        long total = 0;
+        int deleted;
+        do {
+            deleted = deleteChunk.applyAsInt(chunkSize);
+            total += deleted;
+        } while (deleted >= chunkSize);
+
+        if (total > 0) {
+            log.info("Retention removed {} {}", total, what);
+        }
+    }
+}
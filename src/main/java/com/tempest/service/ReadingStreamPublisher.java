@@ -0,0 +1,203 @@
+package com.tempest.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tempest.entity.WeatherReading;
+import com.tempest.event.ReadingsRecordedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes newly ingested readings to Server-Sent Events subscribers.
+ * Each committed batch is turned into one update per station, serialized once and written
+ * to every matching subscriber, so the cost of a reading does not grow with the number of
+ * open dashboards and subscribers never cause database queries of their own.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReadingStreamPublisher {
+
+    private static final String READING_EVENT = "reading";
+
+    private final WeatherService weatherService;
+    private final LiveStatsTracker liveStatsTracker;
+    private final LatestReadingCache latestReadingCache;
+    private final ObjectMapper objectMapper;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Reserved subscriber slots. A slot is taken before a subscriber is added and given back
+     * when it is removed, so concurrent subscriptions cannot overshoot the limit.
+     */
+    private final AtomicInteger openSlots = new AtomicInteger();
+
+    /**
+     * How long a stream stays open; browsers reconnect automatically afterwards.
+     */
+    @Value("${tempest.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${tempest.stream.max-subscribers:500}")
+    private int maxSubscribers;
+
+    /**
+     * Open a stream of reading updates.
+     * The current reading of each matching station is sent first, so a new subscriber
+     * does not have to wait for the next ingest.
+     *
+     * @param stationId station to follow, or null for all stations
+     * @return the emitter to return from the controller
+     * @throws IllegalStateException if the subscriber limit has been reached
+     */
+    public SseEmitter subscribe(String stationId) {
+        int open;
+        do {
+            open = openSlots.get();
+            if (open >= maxSubscribers) {
+                throw new IllegalStateException("Live stream subscriber limit of " + maxSubscribers + " reached");
+            }
+        } while (!openSlots.compareAndSet(open, open + 1));
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(stationId, emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> remove(subscriber));
+        subscribers.add(subscriber);
+        log.debug("Live stream subscriber added for station {} ({} open)",
+                stationId != null ? stationId : "*", open + 1);
+
+        Collection<WeatherReading> current = stationId != null
+                ? latestReadingCache.getLatest(stationId).map(List::of).orElse(List.of())
+                : latestReadingCache.getAllLatest();
+        for (WeatherReading reading : current) {
+            Set<ResponseBodyEmitter.DataWithMediaType> event = toEvent(reading);
+            if (event != null && !send(subscriber, event)) {
+                break;
+            }
+        }
+        return emitter;
+    }
+
+    /**
+     * Fan committed readings out to subscribers, newest reading per station only.
+     */
+    @Async("streamExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReadingsRecorded(ReadingsRecordedEvent event) {
+        liveStatsTracker.apply(event.readings());
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        Map<String, WeatherReading> latestByStation = new HashMap<>();
+        for (WeatherReading reading : event.readings()) {
+            if (reading.getStationId() != null) {
+                latestByStation.merge(reading.getStationId(), reading,
+                        (r1, r2) -> r2.getTimestamp().isAfter(r1.getTimestamp()) ? r2 : r1);
+            }
+        }
+
+        for (WeatherReading reading : latestByStation.values()) {
+            Set<ResponseBodyEmitter.DataWithMediaType> update = null;
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.stationId() != null && !subscriber.stationId().equals(reading.getStationId())) {
+                    continue;
+                }
+                if (update == null) {
+                    update = toEvent(reading);
+                    if (update == null) {
+                        break;
+                    }
+                }
+                send(subscriber, update);
+            }
+        }
+    }
+
+    /**
+     * Keep idle connections open through proxies and detect disconnected clients.
+     */
+    @Scheduled(fixedDelayString = "${tempest.stream.heartbeat-ms:20000}")
+    public void heartbeat() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> ping = SseEmitter.event().comment("keepalive").build();
+        subscribers.forEach(subscriber -> send(subscriber, ping));
+    }
+
+    /**
+     * Close all streams so shutdown does not wait for the async request timeout.
+     */
+    @PreDestroy
+    public void closeAll() {
+        subscribers.forEach(subscriber -> {
+            subscriber.emitter().complete();
+            remove(subscriber);
+        });
+    }
+
+    /**
+     * Render an update once; the built event is shared by all subscribers.
+     */
+    private Set<ResponseBodyEmitter.DataWithMediaType> toEvent(WeatherReading reading) {
+        try {
+            return SseEmitter.event()
+                    .name(READING_EVENT)
+                    .id(String.valueOf(reading.getId()))
+                    .data(objectMapper.writeValueAsString(weatherService.toLiveUpdate(reading)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            log.error("Error serializing live update for reading {}", reading.getId(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Send an event, dropping the subscriber if its connection is gone.
+     *
+     * @return whether the event was written
+     */
+    private boolean send(Subscriber subscriber, Set<ResponseBodyEmitter.DataWithMediaType> event) {
+        try {
+            subscriber.emitter().send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping live stream subscriber: {}", e.getMessage());
+            remove(subscriber);
+            return false;
+        }
+    }
+
+    /**
+     * Remove a subscriber and give back its slot, once however many callbacks report it gone.
+     */
+    private void remove(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            openSlots.decrementAndGet();
+        }
+    }
+
+    private record Subscriber(String stationId, SseEmitter emitter) {
+    }
+}
@@ -0,0 +1,290 @@
+package com.tempest.service;
+
+import com.tempest.entity.ReadingRollup;
+import com.tempest.entity.RollupBackfill;
+import com.tempest.entity.RollupGranularity;
+import com.tempest.entity.WeatherReading;
+import com.tempest.repository.ReadingRollupRepository;
+import com.tempest.repository.RollupBackfillRepository;
+import com.tempest.repository.WeatherReadingRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Service maintaining five-minute, hourly and daily reading rollups.
+ * New readings are merged into their buckets in the transaction that inserts them; readings that existed
+ * before rollups (or a granularity) were introduced are aggregated by a one-off backfill.
+ * Backfill progress is stored with the buckets, so a backfill interrupted by a restart resumes.
+ * Buckets that retention would already have expired are not created.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RollupService {
+
+    private static final Comparator<BucketKey> BUCKET_ORDER = Comparator.comparing(BucketKey::stationId)
+            .thenComparing(BucketKey::granularity)
+            .thenComparing(BucketKey::bucketStart);
+
+    private final ReadingRollupRepository rollupRepository;
+    private final WeatherReadingRepository readingRepository;
+    private final RollupBackfillRepository backfillRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${tempest.rollups.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    /**
+     * Readings aggregated per backfill transaction.
+     */
+    @Value("${tempest.rollups.backfill-chunk-size:5000}")
+    private int backfillChunkSize;
+
+    @Value("${tempest.retention.five-minute-days:30}")
+    private int fiveMinuteDays;
+
+    @Value("${tempest.retention.hourly-days:730}")
+    private int hourlyDays;
+
+    /**
+     * Per granularity, readings with IDs up to this value are left to the backfill.
+     */
+    private volatile Map<RollupGranularity, Long> backfillCutoffIds = Map.of();
+
+    private volatile boolean backfillPending = false;
+
+    /**
+     * Decide which granularities need a backfill before any reading can be ingested.
+     * A granularity with neither buckets nor a recorded backfill has never aggregated the
+     * existing readings; its backfill is recorded right away so it survives a restart.
+     */
+    @PostConstruct
+    public void init() {
+        Map<RollupGranularity, RollupBackfill> backfills = new EnumMap<>(RollupGranularity.class);
+        backfillRepository.findAll().forEach(backfill -> backfills.put(backfill.getGranularity(), backfill));
+
+        if (backfillOnStartup) {
+            Long maxId = null;
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                if (backfills.containsKey(granularity) || rollupRepository.existsByGranularity(granularity)) {
+                    continue;
+                }
+                if (maxId == null) {
+                    maxId = readingRepository.findMaxId();
+                }
+                backfills.put(granularity, backfillRepository.save(RollupBackfill.builder()
+                        .granularity(granularity)
+                        .cutoffId(maxId)
+                        .processedUpTo(0L)
+                        .build()));
+            }
+        }
+
+        Map<RollupGranularity, Long> cutoffIds = new EnumMap<>(RollupGranularity.class);
+        backfills.values().forEach(backfill -> cutoffIds.put(backfill.getGranularity(), backfill.getCutoffId()));
+        backfillCutoffIds = cutoffIds;
+        backfillPending = backfills.values().stream().anyMatch(backfill -> !backfill.isComplete());
+        if (backfillPending && !backfillOnStartup) {
+            log.warn("A rollup backfill is unfinished but backfill-on-startup is disabled; "
+                    + "raw reading retention stays paused until it completes");
+        }
+    }
+
+    /**
+     * Get the highest reading ID up to which every reading is known to be in the rollups of all
+     * granularities. Raw readings above it must not be expired. Readings above a backfill cutoff
+     * are rolled up as they are inserted, so only an unfinished backfill holds the watermark back;
+     * one that was interrupted, failed or is disabled keeps holding it until it completes.
+     *
+     * @return the stored watermark of the slowest unfinished backfill, or {@link Long#MAX_VALUE}
+     */
+    public long rolledUpThroughId() {
+        Long watermark = backfillRepository.findIncompleteWatermark();
+        return watermark != null ? watermark : Long.MAX_VALUE;
+    }
+
+    /**
+     * Merge newly recorded readings into their buckets of every granularity.
+     * Call it in the transaction that inserts the readings, so both commit or roll back together.
+     *
+     * @param readings persisted readings
+     */
+    public void apply(Collection<WeatherReading> readings) {
+        rollupRepository.mergeAll(aggregate(readings, EnumSet.allOf(RollupGranularity.class), backfillCutoffIds));
+    }
+
+    /**
+     * Recompute a bucket from the raw readings it contains, after some of them were deleted.
+     * The bucket row is claimed before the readings are read, so a reading recorded meanwhile either
+     * commits first and is counted here, or waits for the rebuild and then merges into its result.
+     * Readings an unfinished backfill has still to aggregate are left to it.
+     *
+     * @param stationId the station, or {@link ReadingRollup#NO_STATION}
+     */
+    public void rebuildBucket(String stationId, RollupGranularity granularity, LocalDateTime bucketStart) {
+        transactionTemplate.executeWithoutResult(status -> {
+            rollupRepository.mergeAll(List.of(ReadingRollup.builder()
+                    .stationId(stationId)
+                    .granularity(granularity)
+                    .bucketStart(bucketStart)
+                    .build()));
+            rollupRepository.deleteBucket(stationId, granularity.name(), bucketStart);
+
+            LocalDateTime bucketEnd = granularity.bucketEnd(bucketStart);
+            List<WeatherReading> readings = ReadingRollup.NO_STATION.equals(stationId)
+                    ? readingRepository.findByStationIdIsNullAndTimestampGreaterThanEqualAndTimestampLessThan(
+                            bucketStart, bucketEnd)
+                    : readingRepository.findByStationIdAndTimestampGreaterThanEqualAndTimestampLessThan(
+                            stationId, bucketStart, bucketEnd);
+            RollupBackfill backfill = backfillRepository.findById(granularity)
+                    .filter(pending -> !pending.isComplete())
+                    .orElse(null);
+            if (backfill != null) {
+                readings = readings.stream()
+                        .filter(reading -> reading.getId() <= backfill.getProcessedUpTo()
+                                || reading.getId() > backfill.getCutoffId())
+                        .toList();
+            }
+            rollupRepository.mergeAll(aggregate(readings, EnumSet.of(granularity), Map.of()));
+        });
+    }
+
+    /**
+     * Get the start of the oldest bucket of a granularity that retention keeps.
+     *
+     * @return the cutoff, or null if buckets of the granularity are kept forever
+     */
+    public LocalDateTime retainedSince(RollupGranularity granularity, LocalDateTime now) {
+        int days = switch (granularity) {
+            case FIVE_MINUTE -> fiveMinuteDays;
+            case HOURLY -> hourlyDays;
+            case DAILY -> 0;
+        };
+        if (days <= 0) {
+            return null;
+        }
+        // Never expire buckets that still serve the granularity's longest window
+        int hours = Math.max(days * 24, granularity.getMaxWindowHours() + 24);
+        return granularity.truncate(now.minusHours(hours));
+    }
+
+    /**
+     * Backfill rollups for readings that predate them, once the application is ready.
+     * Granularities at the same position share one pass over the readings.
+     */
+    @Async("maintenanceExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillExistingReadings() {
+        if (!backfillOnStartup || !backfillPending) {
+            return;
+        }
+        Map<BackfillPosition, Set<RollupGranularity>> passes = new LinkedHashMap<>();
+        for (RollupBackfill backfill : backfillRepository.findAll()) {
+            if (!backfill.isComplete()) {
+                passes.computeIfAbsent(new BackfillPosition(backfill.getProcessedUpTo(), backfill.getCutoffId()),
+                        position -> EnumSet.noneOf(RollupGranularity.class)).add(backfill.getGranularity());
+            }
+        }
+
+        try {
+            passes.forEach((position, granularities) ->
+                    backfill(granularities, position.processedUpTo(), position.cutoffId()));
+            backfillPending = false;
+        } catch (Exception e) {
+            log.error("Rollup backfill failed; it resumes on the next start", e);
+        }
+    }
+
+    private void backfill(Set<RollupGranularity> granularities, long processedUpTo, long cutoffId) {
+        if (processedUpTo > 0) {
+            log.info("Resuming {} rollup backfill after reading ID {} of {}", granularities, processedUpTo, cutoffId);
+        } else {
+            log.info("Backfilling {} reading rollups for readings up to ID {}", granularities, cutoffId);
+        }
+        long lastId = processedUpTo;
+        long processed = 0;
+        while (true) {
+            List<WeatherReading> chunk = readingRepository.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(
+                    lastId, cutoffId, PageRequest.of(0, backfillChunkSize));
+            // An empty chunk completes the backfill, even if the last readings were deleted
+            long upTo = chunk.isEmpty() ? cutoffId : chunk.get(chunk.size() - 1).getId();
+            transactionTemplate.executeWithoutResult(status -> {
+                rollupRepository.mergeAll(aggregate(chunk, granularities, Map.of()));
+                backfillRepository.findAllById(granularities)
+                        .forEach(backfill -> backfill.setProcessedUpTo(upTo));
+            });
+            if (chunk.isEmpty()) {
+                break;
+            }
+            lastId = upTo;
+            processed += chunk.size();
+            log.debug("Backfilled rollups for {} readings", processed);
+        }
+        log.info("Rollup backfill of {} complete: {} readings aggregated", granularities, processed);
+    }
+
+    /**
+     * Group readings into partial rollups, one per station, granularity and bucket.
+     * Buckets older than their granularity's retention are skipped, as are readings left to a backfill.
+     *
+     * @param skipUpToIds per granularity, readings with IDs up to this value are skipped
+     */
+    private Collection<ReadingRollup> aggregate(Collection<WeatherReading> readings, Set<RollupGranularity> granularities,
+                                                Map<RollupGranularity, Long> skipUpToIds) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<RollupGranularity, LocalDateTime> retainedSince = new EnumMap<>(RollupGranularity.class);
+        for (RollupGranularity granularity : granularities) {
+            retainedSince.put(granularity, retainedSince(granularity, now));
+        }
+
+        // Sorted, so concurrent merges lock shared buckets in the same order and cannot deadlock
+        Map<BucketKey, ReadingRollup> buckets = new TreeMap<>(BUCKET_ORDER);
+        for (WeatherReading reading : readings) {
+            String stationId = reading.getStationId() != null ? reading.getStationId() : ReadingRollup.NO_STATION;
+            for (RollupGranularity granularity : granularities) {
+                Long skipUpTo = skipUpToIds.get(granularity);
+                if (skipUpTo != null && reading.getId() != null && reading.getId() <= skipUpTo) {
+                    continue;
+                }
+                LocalDateTime bucketStart = granularity.truncate(reading.getTimestamp());
+                LocalDateTime cutoff = retainedSince.get(granularity);
+                if (cutoff != null && bucketStart.isBefore(cutoff)) {
+                    continue;
+                }
+                buckets.computeIfAbsent(new BucketKey(stationId, granularity, bucketStart),
+                                key -> ReadingRollup.builder()
+                                        .stationId(stationId)
+                                        .granularity(granularity)
+                                        .bucketStart(bucketStart)
+                                        .build())
+                        .add(reading);
+            }
+        }
+        return buckets.values();
+    }
+
+    private record BackfillPosition(long processedUpTo, long cutoffId) {
+    }
+
+    private record BucketKey(String stationId, RollupGranularity granularity, LocalDateTime bucketStart) {
+    }
+}
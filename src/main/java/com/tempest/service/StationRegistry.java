@@ -0,0 +1,218 @@
+package com.tempest.service;
+
+import com.tempest.entity.WeatherStation;
+import com.tempest.repository.WeatherStationRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory registry of stations, keyed by station ID and API key.
+ * Loaded at startup and updated when stations are created or edited, so ingest never looks
+ * stations up in the database. Last seen times are kept in memory and written to the stations
+ * table in periodic batches instead of one row update per reading.
+ * The registry keeps its own copies of the stations and hands out copies of them, and a change
+ * replaces a station rather than modifying it, so callers can never see a station change under them.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StationRegistry {
+
+    private final WeatherStationRepository stationRepository;
+
+    private final Map<String, WeatherStation> byStationId = new ConcurrentHashMap<>();
+
+    /**
+     * Station IDs by API key.
+     */
+    private final Map<String, String> byApiKey = new ConcurrentHashMap<>();
+
+    /**
+     * Last seen times not yet written to the database.
+     */
+    private final Map<String, LocalDateTime> pendingLastSeen = new ConcurrentHashMap<>();
+
+    /**
+     * Serializes creating stations that were never registered, so each is created once.
+     * A lock rather than a monitor because creation writes to the database, possibly on a virtual thread.
+     */
+    private final ReentrantLock creationLock = new ReentrantLock();
+
+    private volatile boolean warmed = false;
+
+    /**
+     * Load every station once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        stationRepository.findAll().forEach(this::put);
+        warmed = true;
+        log.info("Station registry loaded with {} station(s)", byStationId.size());
+    }
+
+    /**
+     * Add or replace a station after it was saved.
+     * Called in a transaction, the station is registered once it commits, so a rolled back change
+     * never shows.
+     *
+     * @param station the persisted station
+     */
+    public void register(WeatherStation station) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(station);
+                }
+            });
+        } else {
+            put(station);
+        }
+    }
+
+    public Optional<WeatherStation> findByStationId(String stationId) {
+        return Optional.ofNullable(byStationId.get(stationId)).map(StationRegistry::copy);
+    }
+
+    public Optional<WeatherStation> findByApiKey(String apiKey) {
+        return Optional.ofNullable(byApiKey.get(apiKey)).flatMap(this::findByStationId);
+    }
+
+    /**
+     * Get all stations. Falls back to the database until the registry is loaded.
+     */
+    public List<WeatherStation> getAll() {
+        if (!warmed) {
+            return stationRepository.findAll();
+        }
+        return byStationId.values().stream()
+                .map(StationRegistry::copy)
+                .toList();
+    }
+
+    /**
+     * Get active stations. Falls back to the database until the registry is loaded.
+     */
+    public List<WeatherStation> getActive() {
+        if (!warmed) {
+            return stationRepository.findByIsActiveTrue();
+        }
+        return byStationId.values().stream()
+                .filter(station -> Boolean.TRUE.equals(station.getIsActive()))
+                .map(StationRegistry::copy)
+                .toList();
+    }
+
+    /**
+     * Mark stations as seen, creating stations that report before they were registered.
+     *
+     * @param stationIds stations that sent readings
+     * @param now        when they were seen
+     */
+    public void touch(Collection<String> stationIds, LocalDateTime now) {
+        for (String stationId : stationIds) {
+            if (stationId == null) {
+                continue;
+            }
+            if (!byStationId.containsKey(stationId)) {
+                create(stationId);
+            }
+            byStationId.computeIfPresent(stationId, (id, station) ->
+                    station.getLastSeen() != null && !now.isAfter(station.getLastSeen())
+                            ? station : station.toBuilder().lastSeen(now).build());
+            pendingLastSeen.merge(stationId, now, (current, seen) -> seen.isAfter(current) ? seen : current);
+        }
+    }
+
+    /**
+     * Write accumulated last seen times to the database.
+     * Times that fail to write are kept for the next flush.
+     */
+    @Scheduled(fixedDelayString = "${tempest.stations.last-seen-flush-interval-ms:10000}")
+    @PreDestroy
+    public void flush() {
+        Map<String, LocalDateTime> updates = new HashMap<>();
+        for (String stationId : pendingLastSeen.keySet()) {
+            LocalDateTime lastSeen = pendingLastSeen.remove(stationId);
+            if (lastSeen != null) {
+                updates.put(stationId, lastSeen);
+            }
+        }
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        try {
+            stationRepository.updateLastSeen(updates);
+            log.debug("Flushed last seen time of {} station(s)", updates.size());
+        } catch (Exception e) {
+            log.error("Failed to flush last seen time of {} station(s), will retry", updates.size(), e);
+            updates.forEach((stationId, lastSeen) -> pendingLastSeen.merge(stationId, lastSeen,
+                    (current, failed) -> failed.isAfter(current) ? failed : current));
+        }
+    }
+
+    /**
+     * Register a station that reported without being registered first, as ingest always has.
+     */
+    private void create(String stationId) {
+        creationLock.lock();
+        try {
+            if (byStationId.containsKey(stationId)) {
+                return;
+            }
+            put(stationRepository.findByStationId(stationId)
+                    .orElseGet(() -> stationRepository.save(WeatherStation.builder()
+                            .stationId(stationId)
+                            .name(stationId)
+                            .isActive(true)
+                            .build())));
+            log.info("Registered station {}", stationId);
+        } finally {
+            creationLock.unlock();
+        }
+    }
+
+    /**
+     * Store a copy of a station, replacing the registered one.
+     * A last seen time newer than the saved one is kept, since it may not have been flushed yet.
+     */
+    private void put(WeatherStation station) {
+        WeatherStation registered = copy(station);
+        byStationId.compute(registered.getStationId(), (stationId, previous) -> {
+            if (previous != null) {
+                if (previous.getLastSeen() != null && (registered.getLastSeen() == null
+                        || previous.getLastSeen().isAfter(registered.getLastSeen()))) {
+                    registered.setLastSeen(previous.getLastSeen());
+                }
+                if (previous.getApiKey() != null) {
+                    byApiKey.remove(previous.getApiKey(), stationId);
+                }
+            }
+            if (registered.getApiKey() != null) {
+                byApiKey.put(registered.getApiKey(), stationId);
+            }
+            return registered;
+        });
+    }
+
+    private static WeatherStation copy(WeatherStation station) {
+        return station.toBuilder().build();
+    }
+}
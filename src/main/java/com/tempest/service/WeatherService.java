@@ -1,30 +1,82 @@
 package com.tempest.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tempest.dto.ExportFormat;
+import com.tempest.dto.LiveReadingDTO;
+import com.tempest.dto.ReadingPageDTO;
 import com.tempest.dto.WeatherReadingDTO;
 import com.tempest.dto.WeatherStatsDTO;
+import com.tempest.entity.ReadingRollup;
+import com.tempest.entity.RollupGranularity;
+import com.tempest.entity.WeatherMetric;
 import com.tempest.entity.WeatherReading;
 import com.tempest.entity.WeatherStation;
+import com.tempest.event.ReadingsRecordedEvent;
+import com.tempest.repository.ReadingRollupRepository;
+import com.tempest.repository.ReadingStatsProjection;
+import com.tempest.repository.StationStatsProjection;
 import com.tempest.repository.WeatherReadingRepository;
 import com.tempest.repository.WeatherStationRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class WeatherService {
 
+    private static final String CSV_HEADER = "id,station_id,timestamp,temperature_f,humidity,pressure,"
+            + "wind_speed,wind_direction,rainfall,uv_index,light_level,battery_voltage\n";
+
     private final WeatherReadingRepository readingRepository;
+    private final ReadingRollupRepository rollupRepository;
     private final WeatherStationRepository stationRepository;
-    private final AlertEvaluationService alertEvaluationService;
+    private final LatestReadingCache latestReadingCache;
+    private final LiveStatsTracker liveStatsTracker;
+    private final StationRegistry stationRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final QueryFanOut queryFanOut;
+    private final RollupService rollupService;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Windows longer than this are served from rollups instead of raw readings.
+     */
+    @Value("${tempest.rollups.raw-window-hours:48}")
+    private int rawWindowHours;
+
+    /**
+     * Multi-station queries are split into concurrent queries of at most this many stations.
+     */
+    @Value("${tempest.query.stations-per-query:25}")
+    private int stationsPerQuery;
 
     /**
      * Convert Celsius to Fahrenheit.
@@ -38,12 +90,47 @@ public class WeatherService {
 
     /**
      * Record a new weather reading from a station.
+     * Its rollups are merged in the same transaction, so they are never lost or counted twice.
+     * Station upkeep and alert evaluation run asynchronously once the reading is committed.
+     * The event is published after the commit, so handing the stages off, which may wait for
+     * room in the ingest queue, never holds a database connection.
      */
-    @Transactional
     public WeatherReading recordReading(WeatherReadingDTO dto) {
         log.debug("Recording weather reading from station: {}", dto.getStationId());
 
-        WeatherReading reading = WeatherReading.builder()
+        WeatherReading saved = transactionTemplate.execute(status -> {
+            WeatherReading reading = readingRepository.save(toEntity(dto));
+            rollupService.apply(List.of(reading));
+            return reading;
+        });
+        eventPublisher.publishEvent(new ReadingsRecordedEvent(List.of(saved)));
+
+        log.info("Recorded reading ID {} from station {}", saved.getId(), dto.getStationId());
+        return saved;
+    }
+
+    /**
+     * Record a batch of readings, typically replayed by a station after an outage.
+     * Readings are inserted with JDBC batching and their rollups merged in the same transaction;
+     * follow-up processing happens once for the whole batch.
+     */
+    public List<WeatherReading> recordReadings(List<WeatherReadingDTO> dtos) {
+        log.debug("Recording batch of {} weather readings", dtos.size());
+
+        List<WeatherReading> saved = transactionTemplate.execute(status -> {
+            List<WeatherReading> readings = readingRepository.insertAll(
+                    dtos.stream().map(this::toEntity).collect(Collectors.toList()));
+            rollupService.apply(readings);
+            return readings;
+        });
+        eventPublisher.publishEvent(new ReadingsRecordedEvent(saved));
+
+        log.info("Recorded batch of {} readings", saved.size());
+        return saved;
+    }
+
+    private WeatherReading toEntity(WeatherReadingDTO dto) {
+        return WeatherReading.builder()
                 .stationId(dto.getStationId())
                 .timestamp(dto.getTimestamp() != null ? dto.getTimestamp() : LocalDateTime.now())
                 .temperature(dto.getTemperature())
@@ -56,34 +143,6 @@ public class WeatherService {
                 .lightLevel(dto.getLightLevel())
                 .batteryVoltage(dto.getBatteryVoltage())
                 .build();
-
-        WeatherReading saved = readingRepository.save(reading);
-
-        // Get or create station and update last seen
-        if (dto.getStationId() != null) {
-            WeatherStation station = stationRepository.findByStationId(dto.getStationId())
-                    .orElseGet(() -> {
-                        WeatherStation newStation = WeatherStation.builder()
-                                .stationId(dto.getStationId())
-                                .name(dto.getStationId())
-                                .isActive(true)
-                                .build();
-                        return stationRepository.save(newStation);
-                    });
-            station.setLastSeen(LocalDateTime.now());
-            stationRepository.save(station);
-        }
-
-        // Trigger alert evaluation for this reading (non-blocking)
-        try {
-            alertEvaluationService.evaluateReading(saved);
-        } catch (Exception e) {
-            log.error("Error evaluating alerts for reading {}", saved.getId(), e);
-            // Don't fail the reading save if alert evaluation fails
-        }
-
-        log.info("Recorded reading ID {} from station {}", saved.getId(), dto.getStationId());
-        return saved;
     }
 
     /**
@@ -124,7 +183,7 @@ public class WeatherService {
      * Get the latest weather reading.
      */
     public Optional<WeatherReading> getLatestReading() {
-        return readingRepository.findTopByOrderByTimestampDesc()
+        return latestReadingCache.getLatest()
                 .map(this::convertToFahrenheit);
     }
 
@@ -132,139 +191,343 @@ public class WeatherService {
      * Get the latest reading for a specific station.
      */
     public Optional<WeatherReading> getLatestReadingForStation(String stationId) {
-        return readingRepository.findTopByStationIdOrderByTimestampDesc(stationId)
+        return latestReadingCache.getLatest(stationId)
                 .map(this::convertToFahrenheit);
     }
 
     /**
-     * Get readings from the last N hours (ascending order for charts).
+     * Build the live stream update for a station's reading.
+     * Stats come from the in-memory rolling window, so this does not query the database
+     * once the station's window has been seeded.
      */
-    public List<WeatherReading> getReadingsForLastHours(int hours) {
-        LocalDateTime since = LocalDateTime.now().minusHours(hours);
-        return convertListToFahrenheit(readingRepository.findReadingsSince(since));
+    public LiveReadingDTO toLiveUpdate(WeatherReading reading) {
+        return LiveReadingDTO.builder()
+                .stationId(reading.getStationId())
+                .reading(convertToFahrenheit(reading))
+                .stats24h(toStats(liveStatsTracker.getStats(reading.getStationId()), LiveStatsTracker.WINDOW_HOURS))
+                .build();
     }
 
     /**
-     * Get readings from the last N hours (descending order for history view).
+     * Get readings from the last N hours (ascending order for charts).
+     * Long windows return one averaged point per station and rollup bucket.
      */
-    public List<WeatherReading> getReadingsForLastHoursDesc(int hours) {
+    public List<WeatherReading> getReadingsForLastHours(int hours) {
         LocalDateTime since = LocalDateTime.now().minusHours(hours);
-        return convertListToFahrenheit(readingRepository.findReadingsSinceDesc(since));
+        RollupGranularity granularity = seriesGranularityFor(hours);
+        if (granularity != null) {
+            return convertListToFahrenheit(rollupRepository
+                    .findByGranularityAndBucketStartGreaterThanEqualOrderByBucketStartAsc(
+                            granularity, granularity.truncate(since))
+                    .stream().map(this::toReading).toList());
+        }
+        return convertListToFahrenheit(readingRepository.findReadingsSince(since));
     }
 
     /**
      * Get readings for a station from the last N hours.
+     * Long windows return one averaged point per rollup bucket.
      */
     public List<WeatherReading> getReadingsForStation(String stationId, int hours) {
         LocalDateTime since = LocalDateTime.now().minusHours(hours);
+        RollupGranularity granularity = seriesGranularityFor(hours);
+        if (granularity != null) {
+            return convertListToFahrenheit(rollupRepository
+                    .findByStationIdAndGranularityAndBucketStartGreaterThanEqualOrderByBucketStartAsc(
+                            stationId, granularity, granularity.truncate(since))
+                    .stream().map(this::toReading).toList());
+        }
         return convertListToFahrenheit(readingRepository.findReadingsSinceForStation(stationId, since));
     }
 
     /**
-     * Get paginated readings.
+     * Get readings for a station from the last N hours, downsampled for charting.
+     *
+     * @param maxPoints maximum number of points to return
+     * @param metric    metric whose shape is preserved when choosing points
      */
-    public Page<WeatherReading> getReadings(int page, int size) {
-        return readingRepository.findAll(PageRequest.of(page, size));
+    public List<WeatherReading> getReadingsForStation(String stationId, int hours, int maxPoints, WeatherMetric metric) {
+        return ReadingDownsampler.lttb(getReadingsForStation(stationId, hours), maxPoints, metric);
     }
 
     /**
-     * Get weather statistics for the last N hours.
+     * Get downsampled chart series for several stations from the last N hours.
+     * Stations are queried together, in concurrent chunks for large station sets.
+     *
+     * @param maxPoints maximum number of points per station
+     * @param metric    metric whose shape is preserved when choosing points
+     * @return series per station ID, in the order given; stations without readings get an empty series
      */
-    public WeatherStatsDTO getStats(int hours) {
+    public Map<String, List<WeatherReading>> getReadingsForStations(
+            Collection<String> stationIds, int hours, int maxPoints, WeatherMetric metric) {
+        Map<String, List<WeatherReading>> series = new LinkedHashMap<>();
+        for (String stationId : stationIds) {
+            series.put(stationId, new ArrayList<>());
+        }
+        if (series.isEmpty()) {
+            return series;
+        }
+
         LocalDateTime since = LocalDateTime.now().minusHours(hours);
-        List<WeatherReading> readings = readingRepository.findReadingsSince(since);
+        RollupGranularity granularity = seriesGranularityFor(hours);
+        List<List<WeatherReading>> chunks = queryFanOut.invokeChunked(
+                List.copyOf(series.keySet()), stationsPerQuery, chunk -> granularity != null
+                        ? rollupRepository
+                                .findByStationIdInAndGranularityAndBucketStartGreaterThanEqualOrderByStationIdAscBucketStartAsc(
+                                        chunk, granularity, granularity.truncate(since))
+                                .stream().map(this::toReading).toList()
+                        : readingRepository.findReadingsSinceForStations(chunk, since));
+        for (List<WeatherReading> readings : chunks) {
+            for (WeatherReading reading : readings) {
+                series.get(reading.getStationId()).add(convertToFahrenheit(reading));
+            }
+        }
+        series.replaceAll((stationId, stationSeries) -> ReadingDownsampler.lttb(stationSeries, maxPoints, metric));
+        return series;
+    }
 
-        if (readings.isEmpty()) {
-            return WeatherStatsDTO.empty();
+    /**
+     * Get a page of readings, newest first, using keyset pagination.
+     *
+     * @param stationId optional station filter
+     * @param cursor    cursor returned with the previous page, or null for the first page
+     * @param size      page size
+     */
+    public ReadingPageDTO getReadingsPage(String stationId, String cursor, int size) {
+        // Fetch one extra row to learn whether another page exists
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<WeatherReading> readings;
+        if (cursor == null || cursor.isBlank()) {
+            readings = stationId != null
+                    ? readingRepository.findPageForStation(stationId, limit)
+                    : readingRepository.findPage(limit);
+        } else {
+            ReadingPageDTO.Cursor position = ReadingPageDTO.decodeCursor(cursor);
+            readings = stationId != null
+                    ? readingRepository.findPageForStationAfter(stationId, position.timestamp(), position.id(), limit)
+                    : readingRepository.findPageAfter(position.timestamp(), position.id(), limit);
         }
 
-        return WeatherStatsDTO.builder()
-                .minTemperature(celsiusToFahrenheit(readings.stream()
-                        .filter(r -> r.getTemperature() != null)
-                        .mapToDouble(WeatherReading::getTemperature)
-                        .min().orElse(0)))
-                .maxTemperature(celsiusToFahrenheit(readings.stream()
-                        .filter(r -> r.getTemperature() != null)
-                        .mapToDouble(WeatherReading::getTemperature)
-                        .max().orElse(0)))
-                .avgTemperature(celsiusToFahrenheit(readings.stream()
-                        .filter(r -> r.getTemperature() != null)
-                        .mapToDouble(WeatherReading::getTemperature)
-                        .average().orElse(0)))
-                .avgHumidity(readings.stream()
-                        .filter(r -> r.getHumidity() != null)
-                        .mapToDouble(WeatherReading::getHumidity)
-                        .average().orElse(0))
-                .avgPressure(readings.stream()
-                        .filter(r -> r.getPressure() != null)
-                        .mapToDouble(WeatherReading::getPressure)
-                        .average().orElse(0))
-                .totalRainfall(readings.stream()
-                        .filter(r -> r.getRainfall() != null)
-                        .mapToDouble(WeatherReading::getRainfall)
-                        .sum())
-                .maxWindSpeed(readings.stream()
-                        .filter(r -> r.getWindSpeed() != null)
-                        .mapToDouble(WeatherReading::getWindSpeed)
-                        .max().orElse(0))
-                .readingCount(readings.size())
-                .periodHours(hours)
+        String nextCursor = null;
+        if (readings.size() > size) {
+            readings = readings.subList(0, size);
+            nextCursor = ReadingPageDTO.encodeCursor(readings.get(size - 1));
+        }
+
+        return ReadingPageDTO.builder()
+                .readings(convertListToFahrenheit(readings))
+                .nextCursor(nextCursor)
                 .build();
     }
 
+    /**
+     * Stream readings in a time range to an output stream as CSV or NDJSON.
+     * Rows are read from a database cursor and detached as soon as they are written,
+     * so heap usage stays constant regardless of the number of rows exported.
+     *
+     * @param stationId optional station filter
+     * @param from      start of the range (inclusive)
+     * @param to        end of the range (exclusive)
+     * @param format    output format
+     * @param out       destination stream; flushed but not closed
+     * @return the number of readings written
+     */
+    @Transactional(readOnly = true)
+    public long exportReadings(String stationId, LocalDateTime from, LocalDateTime to,
+                               ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+        }
+
+        long count = 0;
+        try (Stream<WeatherReading> readings = stationId != null
+                ? readingRepository.streamByStationAndTimestampRange(stationId, from, to)
+                : readingRepository.streamByTimestampRange(from, to)) {
+            Iterator<WeatherReading> iterator = readings.iterator();
+            while (iterator.hasNext()) {
+                WeatherReading reading = iterator.next();
+                WeatherReading converted = convertToFahrenheit(reading);
+                entityManager.detach(reading);
+
+                if (format == ExportFormat.CSV) {
+                    writer.write(toCsvRow(converted));
+                } else {
+                    writer.write(objectMapper.writeValueAsString(converted));
+                    writer.write('\n');
+                }
+                count++;
+            }
+        }
+
+        writer.flush();
+        log.info("Exported {} readings as {}", count, format);
+        return count;
+    }
+
+    private static String toCsvRow(WeatherReading r) {
+        return String.join(",",
+                String.valueOf(r.getId()),
+                csvText(r.getStationId()),
+                r.getTimestamp().toString(),
+                csvNumber(r.getTemperature()),
+                csvNumber(r.getHumidity()),
+                csvNumber(r.getPressure()),
+                csvNumber(r.getWindSpeed()),
+                csvNumber(r.getWindDirection()),
+                csvNumber(r.getRainfall()),
+                csvNumber(r.getUvIndex()),
+                csvNumber(r.getLightLevel()),
+                csvNumber(r.getBatteryVoltage())) + "\n";
+    }
+
+    private static String csvNumber(Double value) {
+        return value != null ? value.toString() : "";
+    }
+
+    private static String csvText(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    /**
+     * Get weather statistics for the last N hours.
+     */
+    public WeatherStatsDTO getStats(int hours) {
+        LocalDateTime since = LocalDateTime.now().minusHours(hours);
+        RollupGranularity granularity = statsGranularityFor(hours);
+        if (granularity != null) {
+            return toStats(rollupRepository.aggregateSince(granularity, granularity.truncate(since)), hours);
+        }
+        return toStats(readingRepository.aggregateSince(since), hours);
+    }
+
     /**
      * Get weather statistics for a specific station for the last N hours.
      */
     public WeatherStatsDTO getStatsForStation(String stationId, int hours) {
         LocalDateTime since = LocalDateTime.now().minusHours(hours);
-        List<WeatherReading> readings = readingRepository.findReadingsSinceForStation(stationId, since);
+        RollupGranularity granularity = statsGranularityFor(hours);
+        if (granularity != null) {
+            return toStats(rollupRepository.aggregateSinceForStation(
+                    stationId, granularity, granularity.truncate(since)), hours);
+        }
+        return toStats(readingRepository.aggregateSinceForStation(stationId, since), hours);
+    }
 
-        if (readings.isEmpty()) {
+    /**
+     * Get weather statistics for several stations for the last N hours with grouped queries.
+     * Large station sets are split into chunks that are queried concurrently.
+     *
+     * @return stats per station ID; stations without readings get empty stats
+     */
+    public Map<String, WeatherStatsDTO> getStatsForStations(Collection<String> stationIds, int hours) {
+        Map<String, WeatherStatsDTO> stats = new HashMap<>();
+        if (stationIds.isEmpty()) {
+            return stats;
+        }
+        LocalDateTime since = LocalDateTime.now().minusHours(hours);
+        RollupGranularity granularity = statsGranularityFor(hours);
+        List<List<StationStatsProjection>> chunks = queryFanOut.invokeChunked(
+                List.copyOf(stationIds), stationsPerQuery, chunk -> granularity != null
+                        ? rollupRepository.aggregateSinceForStations(chunk, granularity, granularity.truncate(since))
+                        : readingRepository.aggregateSinceForStations(chunk, since));
+        for (List<StationStatsProjection> rows : chunks) {
+            for (StationStatsProjection row : rows) {
+                stats.put(row.getStationId(), toStats(row, hours));
+            }
+        }
+        for (String stationId : stationIds) {
+            stats.putIfAbsent(stationId, WeatherStatsDTO.empty());
+        }
+        return stats;
+    }
+
+    /**
+     * Build the stats DTO from database aggregates.
+     * Metrics missing from every reading are reported as 0, as before.
+     */
+    private WeatherStatsDTO toStats(ReadingStatsProjection aggregate, int hours) {
+        if (aggregate == null || aggregate.getReadingCount() == null || aggregate.getReadingCount() == 0) {
             return WeatherStatsDTO.empty();
         }
 
         return WeatherStatsDTO.builder()
-                .minTemperature(celsiusToFahrenheit(readings.stream()
-                        .filter(r -> r.getTemperature() != null)
-                        .mapToDouble(WeatherReading::getTemperature)
-                        .min().orElse(0)))
-                .maxTemperature(celsiusToFahrenheit(readings.stream()
-                        .filter(r -> r.getTemperature() != null)
-                        .mapToDouble(WeatherReading::getTemperature)
-                        .max().orElse(0)))
-                .avgTemperature(celsiusToFahrenheit(readings.stream()
-                        .filter(r -> r.getTemperature() != null)
-                        .mapToDouble(WeatherReading::getTemperature)
-                        .average().orElse(0)))
-                .avgHumidity(readings.stream()
-                        .filter(r -> r.getHumidity() != null)
-                        .mapToDouble(WeatherReading::getHumidity)
-                        .average().orElse(0))
-                .avgPressure(readings.stream()
-                        .filter(r -> r.getPressure() != null)
-                        .mapToDouble(WeatherReading::getPressure)
-                        .average().orElse(0))
-                .totalRainfall(readings.stream()
-                        .filter(r -> r.getRainfall() != null)
-                        .mapToDouble(WeatherReading::getRainfall)
-                        .sum())
-                .maxWindSpeed(readings.stream()
-                        .filter(r -> r.getWindSpeed() != null)
-                        .mapToDouble(WeatherReading::getWindSpeed)
-                        .max().orElse(0))
-                .readingCount(readings.size())
+                .minTemperature(celsiusToFahrenheit(orZero(aggregate.getMinTemperature())))
+                .maxTemperature(celsiusToFahrenheit(orZero(aggregate.getMaxTemperature())))
+                .avgTemperature(celsiusToFahrenheit(orZero(aggregate.getAvgTemperature())))
+                .avgHumidity(orZero(aggregate.getAvgHumidity()))
+                .avgPressure(orZero(aggregate.getAvgPressure()))
+                .totalRainfall(orZero(aggregate.getTotalRainfall()))
+                .maxWindSpeed(orZero(aggregate.getMaxWindSpeed()))
+                .readingCount(aggregate.getReadingCount().intValue())
                 .periodHours(hours)
                 .build();
     }
 
+    private static Double orZero(Double value) {
+        return value != null ? value : 0.0;
+    }
+
+    /**
+     * Pick the rollup granularity for a chart window, or null if raw readings should be used.
+     * The finest granularity that covers the window is used, so long charts keep their detail.
+     * Rollup windows start at the bucket containing the window start.
+     */
+    private RollupGranularity seriesGranularityFor(int hours) {
+        if (hours <= rawWindowHours) {
+            return null;
+        }
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            if (hours <= granularity.getMaxWindowHours()) {
+                return granularity;
+            }
+        }
+        return RollupGranularity.DAILY;
+    }
+
+    /**
+     * Pick the rollup granularity for a stats window, or null if raw readings should be used.
+     * Aggregates do not need fine buckets, so these use hourly buckets at the finest.
+     */
+    private RollupGranularity statsGranularityFor(int hours) {
+        if (hours <= rawWindowHours) {
+            return null;
+        }
+        return hours <= RollupGranularity.HOURLY.getMaxWindowHours() ? RollupGranularity.HOURLY : RollupGranularity.DAILY;
+    }
+
+    /**
+     * Represent a rollup bucket as a reading holding the bucket's averages.
+     */
+    private WeatherReading toReading(ReadingRollup rollup) {
+        return WeatherReading.builder()
+                .stationId(ReadingRollup.NO_STATION.equals(rollup.getStationId()) ? null : rollup.getStationId())
+                .timestamp(rollup.getBucketStart())
+                .temperature(rollup.getTemperature().average())
+                .humidity(rollup.getHumidity().average())
+                .pressure(rollup.getPressure().average())
+                .windSpeed(rollup.getWindSpeed().average())
+                .rainfall(rollup.getRainfall().average())
+                .uvIndex(rollup.getUvIndex().average())
+                .lightLevel(rollup.getLightLevel().average())
+                .batteryVoltage(rollup.getBatteryVoltage().average())
+                .build();
+    }
+
     // Station management methods
 
     public List<WeatherStation> getAllStations() {
-        return stationRepository.findAll();
+        return stationRegistry.getAll();
     }
 
     public List<WeatherStation> getActiveStations() {
-        return stationRepository.findByIsActiveTrue();
+        return stationRegistry.getActive();
     }
 
     public Optional<WeatherStation> getStation(String stationId) {
@@ -273,31 +536,9 @@ public class WeatherService {
 
     @Transactional
     public WeatherStation createOrUpdateStation(WeatherStation station) {
-        return stationRepository.save(station);
-    }
-
-    /**
-     * Delete all weather readings.
-     */
-    @Transactional
-    public long deleteAllReadings() {
-        long count = readingRepository.count();
-        readingRepository.deleteAll();
-        log.info("Deleted {} weather readings", count);
-        return count;
-    }
-
-    /**
-     * Delete readings for a specific station.
-     */
-    @Transactional
-    public long deleteReadingsForStation(String stationId) {
-        List<WeatherReading> readings = readingRepository.findByStationIdOrderByTimestampDesc(
-            stationId, PageRequest.of(0, Integer.MAX_VALUE)).getContent();
-        long count = readings.size();
-        readingRepository.deleteAll(readings);
-        log.info("Deleted {} readings for station {}", count, stationId);
-        return count;
+        WeatherStation saved = stationRepository.save(station);
+        // Takes effect once the transaction commits
+        stationRegistry.register(saved);
+        return saved;
     }
 }
-
@@ -0,0 +1,81 @@
+-- Stations, readings, alerts and alert history as originally created by Hibernate.
+-- Databases that predate versioned migrations are baselined at this version.
+
+CREATE TABLE weather_stations (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    station_id VARCHAR(255) NOT NULL UNIQUE,
+    name VARCHAR(255) NOT NULL,
+    location VARCHAR(255),
+    latitude FLOAT(53),
+    longitude FLOAT(53),
+    altitude FLOAT(53),
+    api_key VARCHAR(255),
+    is_active BOOLEAN,
+    last_seen TIMESTAMP(6),
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE weather_readings (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    station_id VARCHAR(255),
+    timestamp TIMESTAMP(6) NOT NULL,
+    temperature FLOAT(53),
+    humidity FLOAT(53),
+    pressure FLOAT(53),
+    wind_speed FLOAT(53),
+    wind_direction FLOAT(53),
+    rainfall FLOAT(53),
+    uv_index FLOAT(53),
+    light_level FLOAT(53),
+    battery_voltage FLOAT(53),
+    created_at TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_reading_timestamp ON weather_readings (timestamp);
+CREATE INDEX idx_station_id ON weather_readings (station_id);
+
+CREATE TABLE weather_alerts (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    station_id VARCHAR(255),
+    metric VARCHAR(255) NOT NULL CHECK (metric IN ('TEMPERATURE','HUMIDITY','PRESSURE','WIND_SPEED','RAINFALL','UV_INDEX','LIGHT_LEVEL','BATTERY_VOLTAGE')),
+    operator VARCHAR(255) NOT NULL CHECK (operator IN ('GREATER_THAN','LESS_THAN','EQUALS','GREATER_EQUAL','LESS_EQUAL')),
+    threshold FLOAT(53) NOT NULL,
+    notification_type VARCHAR(255) NOT NULL CHECK (notification_type IN ('EMAIL','SMS','BOTH')),
+    user_email VARCHAR(255),
+    user_phone VARCHAR(255),
+    is_enabled BOOLEAN,
+    cooldown_minutes INTEGER,
+    last_triggered_at TIMESTAMP(6),
+    trigger_count BIGINT,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_alert_station ON weather_alerts (station_id);
+CREATE INDEX idx_alert_enabled ON weather_alerts (is_enabled);
+CREATE INDEX idx_alert_user_email ON weather_alerts (user_email);
+
+CREATE TABLE alert_history (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    alert_id BIGINT NOT NULL,
+    alert_name VARCHAR(255),
+    station_id VARCHAR(255),
+    reading_id BIGINT,
+    metric VARCHAR(255) CHECK (metric IN ('TEMPERATURE','HUMIDITY','PRESSURE','WIND_SPEED','RAINFALL','UV_INDEX','LIGHT_LEVEL','BATTERY_VOLTAGE')),
+    actual_value FLOAT(53),
+    threshold_value FLOAT(53),
+    operator VARCHAR(255) CHECK (operator IN ('GREATER_THAN','LESS_THAN','EQUALS','GREATER_EQUAL','LESS_EQUAL')),
+    notification_sent BOOLEAN,
+    notification_error VARCHAR(500),
+    triggered_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_history_alert_id ON alert_history (alert_id);
+CREATE INDEX idx_history_triggered_at ON alert_history (triggered_at);
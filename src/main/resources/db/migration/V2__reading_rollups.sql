@@ -0,0 +1,43 @@
+-- Hourly and daily per-station aggregates of readings.
+
+CREATE TABLE IF NOT EXISTS reading_rollups (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    station_id VARCHAR(255) NOT NULL,
+    granularity VARCHAR(16) NOT NULL CHECK (granularity IN ('HOURLY','DAILY')),
+    bucket_start TIMESTAMP(6) NOT NULL,
+    reading_count BIGINT NOT NULL,
+    temperature_count BIGINT NOT NULL,
+    temperature_min FLOAT(53),
+    temperature_max FLOAT(53),
+    temperature_sum FLOAT(53) NOT NULL,
+    humidity_count BIGINT NOT NULL,
+    humidity_min FLOAT(53),
+    humidity_max FLOAT(53),
+    humidity_sum FLOAT(53) NOT NULL,
+    pressure_count BIGINT NOT NULL,
+    pressure_min FLOAT(53),
+    pressure_max FLOAT(53),
+    pressure_sum FLOAT(53) NOT NULL,
+    wind_speed_count BIGINT NOT NULL,
+    wind_speed_min FLOAT(53),
+    wind_speed_max FLOAT(53),
+    wind_speed_sum FLOAT(53) NOT NULL,
+    rainfall_count BIGINT NOT NULL,
+    rainfall_min FLOAT(53),
+    rainfall_max FLOAT(53),
+    rainfall_sum FLOAT(53) NOT NULL,
+    uv_index_count BIGINT NOT NULL,
+    uv_index_min FLOAT(53),
+    uv_index_max FLOAT(53),
+    uv_index_sum FLOAT(53) NOT NULL,
+    light_level_count BIGINT NOT NULL,
+    light_level_min FLOAT(53),
+    light_level_max FLOAT(53),
+    light_level_sum FLOAT(53) NOT NULL,
+    battery_voltage_count BIGINT NOT NULL,
+    battery_voltage_min FLOAT(53),
+    battery_voltage_max FLOAT(53),
+    battery_voltage_sum FLOAT(53) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_rollup_bucket UNIQUE (station_id, granularity, bucket_start)
+);
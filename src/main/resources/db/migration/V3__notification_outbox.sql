@@ -0,0 +1,23 @@
+-- Persistent queue of alert notifications awaiting delivery.
+
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    alert_id BIGINT,
+    alert_history_id BIGINT,
+    channel VARCHAR(255) NOT NULL CHECK (channel IN ('EMAIL','SMS')),
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(255),
+    body VARCHAR(8000) NOT NULL,
+    summary VARCHAR(500),
+    status VARCHAR(255) NOT NULL CHECK (status IN ('PENDING','SENDING','SENT','FAILED')),
+    attempts INTEGER,
+    next_attempt_at TIMESTAMP(6) NOT NULL,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP(6),
+    sent_at TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_status_next_attempt ON notification_outbox (status, next_attempt_at);
+CREATE INDEX IF NOT EXISTS idx_outbox_history_id ON notification_outbox (alert_history_id);
+CREATE INDEX IF NOT EXISTS idx_outbox_recipient ON notification_outbox (recipient, channel);
@@ -0,0 +1,10 @@
+-- Digest windows and windowed alert conditions.
+
+ALTER TABLE weather_alerts ADD COLUMN IF NOT EXISTS digest_window_minutes INTEGER;
+ALTER TABLE weather_alerts ADD COLUMN IF NOT EXISTS alert_condition VARCHAR(255);
+ALTER TABLE weather_alerts ADD COLUMN IF NOT EXISTS window_minutes INTEGER;
+
+-- Replaces a check Hibernate may have created before NO_DATA existed
+ALTER TABLE weather_alerts DROP CONSTRAINT IF EXISTS weather_alerts_alert_condition_check;
+ALTER TABLE weather_alerts ADD CONSTRAINT weather_alerts_alert_condition_check
+    CHECK (alert_condition IN ('INSTANT','SUSTAINED','WINDOW_AVERAGE','RATE_OF_CHANGE','NO_DATA'));
@@ -0,0 +1,4 @@
+-- One ordered index serves per-station window and latest-reading queries.
+
+CREATE INDEX IF NOT EXISTS idx_reading_station_timestamp ON weather_readings (station_id, timestamp DESC);
+DROP INDEX IF EXISTS idx_station_id;
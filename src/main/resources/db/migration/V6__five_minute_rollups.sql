@@ -0,0 +1,13 @@
+-- Allow five-minute rollup buckets.
+-- The granularity check has a generated name on some databases, so the column is rebuilt
+-- with a named check instead of altering the old one.
+
+ALTER TABLE reading_rollups DROP CONSTRAINT uk_rollup_bucket;
+ALTER TABLE reading_rollups ADD COLUMN granularity_level VARCHAR(16);
+UPDATE reading_rollups SET granularity_level = granularity;
+ALTER TABLE reading_rollups DROP COLUMN granularity;
+ALTER TABLE reading_rollups RENAME COLUMN granularity_level TO granularity;
+ALTER TABLE reading_rollups ALTER COLUMN granularity SET NOT NULL;
+ALTER TABLE reading_rollups ADD CONSTRAINT reading_rollups_granularity_check
+    CHECK (granularity IN ('FIVE_MINUTE','HOURLY','DAILY'));
+ALTER TABLE reading_rollups ADD CONSTRAINT uk_rollup_bucket UNIQUE (station_id, granularity, bucket_start);
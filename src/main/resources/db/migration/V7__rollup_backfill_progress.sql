@@ -0,0 +1,10 @@
+-- Durable progress of rollup backfills, so an interrupted backfill resumes instead of
+-- leaving rollups incomplete.
+
+CREATE TABLE rollup_backfill (
+    granularity VARCHAR(16) NOT NULL,
+    cutoff_id BIGINT NOT NULL,
+    processed_up_to BIGINT NOT NULL,
+    PRIMARY KEY (granularity),
+    CONSTRAINT rollup_backfill_granularity_check CHECK (granularity IN ('FIVE_MINUTE','HOURLY','DAILY'))
+);
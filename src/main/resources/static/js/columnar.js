@@ -0,0 +1,140 @@
+/**
+ * Decoder for the application/x-tempest-columnar history format.
+ * See ColumnarReadingEncoder for the byte layout.
+ */
+const TempestColumnar = (() => {
+    const MEDIA_TYPE = 'application/x-tempest-columnar';
+
+    // Same order as the WeatherMetric enum
+    const METRICS = [
+        'temperature', 'humidity', 'pressure', 'windSpeed',
+        'rainfall', 'uvIndex', 'lightLevel', 'batteryVoltage'
+    ];
+
+    /**
+     * Decode a columnar payload, optionally a slice of a larger buffer.
+     * Returns { count, timestamps, <metric>: [...] } where timestamps are epoch
+     * milliseconds of the readings' wall-clock time (format them with timeZone 'UTC')
+     * and missing metric values are null, which Chart.js renders as gaps.
+     */
+    function decode(buffer, byteOffset = 0, byteLength = buffer.byteLength - byteOffset) {
+        const view = new DataView(buffer, byteOffset, byteLength);
+        const bytes = new Uint8Array(buffer, byteOffset, byteLength);
+        let offset = 0;
+
+        if (bytes[0] !== 0x54 || bytes[1] !== 0x43 || bytes[2] !== 0x52 || bytes[3] !== 1) {
+            throw new Error('Unsupported columnar payload');
+        }
+        offset += 4;
+
+        const count = view.getInt32(offset, true);
+        offset += 4;
+
+        const timestamps = new Array(count);
+        let seconds = Number(view.getBigInt64(offset, true));
+        offset += 8;
+        if (count > 0) {
+            timestamps[0] = seconds * 1000;
+        }
+        for (let i = 1; i < count; i++) {
+            let zigzag = 0;
+            let multiplier = 1;
+            let b;
+            do {
+                b = bytes[offset++];
+                zigzag += (b & 0x7f) * multiplier;
+                multiplier *= 128;
+            } while (b & 0x80);
+            seconds += (zigzag % 2 === 0) ? zigzag / 2 : -(zigzag + 1) / 2;
+            timestamps[i] = seconds * 1000;
+        }
+
+        const result = { count: count, timestamps: timestamps };
+        const bitmapLength = Math.ceil(count / 8);
+        const metricCount = bytes[offset++];
+        for (let m = 0; m < metricCount; m++) {
+            const name = METRICS[bytes[offset++]];
+            const bitmapOffset = offset;
+            offset += bitmapLength;
+
+            const values = new Array(count);
+            for (let i = 0; i < count; i++) {
+                if (bytes[bitmapOffset + (i >> 3)] & (1 << (i & 7))) {
+                    values[i] = view.getFloat64(offset, true);
+                    offset += 8;
+                } else {
+                    values[i] = null;
+                }
+            }
+            if (name) {
+                result[name] = values;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Decode a bundle of several stations' series.
+     * Returns a Map from station ID to the decoded series.
+     */
+    function decodeBundle(buffer) {
+        const view = new DataView(buffer);
+        const bytes = new Uint8Array(buffer);
+        if (bytes[0] !== 0x54 || bytes[1] !== 0x43 || bytes[2] !== 0x42 || bytes[3] !== 1) {
+            throw new Error('Unsupported columnar bundle');
+        }
+        let offset = 4;
+
+        const stations = view.getUint16(offset, true);
+        offset += 2;
+        const decoder = new TextDecoder();
+        const result = new Map();
+        for (let s = 0; s < stations; s++) {
+            const idLength = view.getUint16(offset, true);
+            offset += 2;
+            const stationId = decoder.decode(bytes.subarray(offset, offset + idLength));
+            offset += idLength;
+            const length = view.getInt32(offset, true);
+            offset += 4;
+            result.set(stationId, decode(buffer, offset, length));
+            offset += length;
+        }
+        return result;
+    }
+
+    /**
+     * Fetch a station's history in columnar form and decode it.
+     */
+    async function fetchStationHistory(stationId, hours, maxPoints) {
+        const params = new URLSearchParams({ hours: hours });
+        if (maxPoints) {
+            params.set('maxPoints', maxPoints);
+        }
+        const response = await fetch(
+            '/api/weather/history/' + encodeURIComponent(stationId) + '?' + params,
+            { headers: { 'Accept': MEDIA_TYPE } });
+        if (!response.ok) {
+            throw new Error('History request failed: ' + response.status);
+        }
+        return decode(await response.arrayBuffer());
+    }
+
+    /**
+     * Fetch the histories of several stations in one request and decode them.
+     */
+    async function fetchStationHistories(stationIds, hours, maxPoints) {
+        const params = new URLSearchParams({ hours: hours });
+        stationIds.forEach(stationId => params.append('stationIds', stationId));
+        if (maxPoints) {
+            params.set('maxPoints', maxPoints);
+        }
+        const response = await fetch('/api/weather/history?' + params,
+            { headers: { 'Accept': MEDIA_TYPE } });
+        if (!response.ok) {
+            throw new Error('History request failed: ' + response.status);
+        }
+        return decodeBundle(await response.arrayBuffer());
+    }
+
+    return { MEDIA_TYPE, decode, decodeBundle, fetchStationHistory, fetchStationHistories };
+})();
@@ -0,0 +1,100 @@
+package com.tempest.repository;
+
+import com.tempest.entity.ReadingRollup;
+import com.tempest.entity.RollupGranularity;
+import com.tempest.entity.WeatherReading;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the grouped dashboard queries return each requested station's own data.
+ */
+@DataJpaTest(showSql = false)
+class StationGroupedQueriesTest {
+
+    private static final LocalDateTime SINCE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Autowired
+    private WeatherReadingRepository readingRepository;
+
+    @Autowired
+    private ReadingRollupRepository rollupRepository;
+
+    @BeforeEach
+    void insertReadings() {
+        List<WeatherReading> readings = List.of(
+                reading("station-1", SINCE.plusMinutes(30), 10.0),
+                reading("station-1", SINCE.plusMinutes(10), 20.0),
+                reading("station-2", SINCE.plusMinutes(20), 30.0),
+                reading("station-3", SINCE.plusMinutes(20), 40.0),
+                // Before the window
+                reading("station-1", SINCE.minusMinutes(1), -50.0));
+        readingRepository.saveAllAndFlush(readings);
+
+        for (WeatherReading reading : readings) {
+            ReadingRollup rollup = ReadingRollup.builder()
+                    .stationId(reading.getStationId())
+                    .granularity(RollupGranularity.HOURLY)
+                    .bucketStart(RollupGranularity.HOURLY.truncate(reading.getTimestamp()))
+                    .build();
+            rollup.add(reading);
+            rollupRepository.mergeAll(List.of(rollup));
+        }
+    }
+
+    @Test
+    void rawStatsAreGroupedPerStation() {
+        Map<String, StationStatsProjection> stats = byStation(
+                readingRepository.aggregateSinceForStations(List.of("station-1", "station-2"), SINCE));
+
+        assertThat(stats).containsOnlyKeys("station-1", "station-2");
+        assertThat(stats.get("station-1").getReadingCount()).isEqualTo(2);
+        assertThat(stats.get("station-1").getMinTemperature()).isEqualTo(10.0);
+        assertThat(stats.get("station-1").getAvgTemperature()).isEqualTo(15.0);
+        assertThat(stats.get("station-2").getMaxTemperature()).isEqualTo(30.0);
+    }
+
+    @Test
+    void rollupStatsAreGroupedPerStation() {
+        Map<String, StationStatsProjection> stats = byStation(rollupRepository.aggregateSinceForStations(
+                List.of("station-1", "station-3"), RollupGranularity.HOURLY, SINCE));
+
+        assertThat(stats).containsOnlyKeys("station-1", "station-3");
+        assertThat(stats.get("station-1").getReadingCount()).isEqualTo(2);
+        assertThat(stats.get("station-1").getAvgTemperature()).isEqualTo(15.0);
+        assertThat(stats.get("station-3").getMinTemperature()).isEqualTo(40.0);
+    }
+
+    @Test
+    void seriesAreGroupedByStationInTimeOrder() {
+        List<WeatherReading> readings = readingRepository.findReadingsSinceForStations(
+                List.of("station-2", "station-1"), SINCE);
+
+        assertThat(readings).extracting(WeatherReading::getStationId)
+                .containsExactly("station-1", "station-1", "station-2");
+        assertThat(readings).extracting(WeatherReading::getTemperature)
+                .containsExactly(20.0, 10.0, 30.0);
+    }
+
+    private static Map<String, StationStatsProjection> byStation(List<StationStatsProjection> rows) {
+        return rows.stream().collect(Collectors.toMap(StationStatsProjection::getStationId, Function.identity()));
+    }
+
+    private static WeatherReading reading(String stationId, LocalDateTime timestamp, double temperature) {
+        return WeatherReading.builder()
+                .stationId(stationId)
+                .timestamp(timestamp)
+                .temperature(temperature)
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.tempest.repository;
+
+import com.tempest.entity.WeatherReading;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the per-station lookups are planned on the (station_id, timestamp DESC) index.
+ */
+@DataJpaTest(showSql = false)
+class WeatherReadingRepositoryIndexTest {
+
+    private static final String INDEX = "IDX_READING_STATION_TIMESTAMP";
+
+    @Autowired
+    private WeatherReadingRepository readingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void insertReadings() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<WeatherReading> readings = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            readings.add(WeatherReading.builder()
+                    .stationId("station-" + (i % 4))
+                    .timestamp(start.plusMinutes(i))
+                    .temperature(20.0)
+                    .build());
+        }
+        readings.add(WeatherReading.builder().timestamp(start).temperature(20.0).build());
+        readingRepository.saveAllAndFlush(readings);
+    }
+
+    @Test
+    void latestReadingOfStationUsesIndex() {
+        assertThat(explain("""
+                SELECT * FROM weather_readings WHERE station_id = 'station-1'
+                ORDER BY timestamp DESC FETCH FIRST 1 ROWS ONLY
+                """)).contains(INDEX);
+    }
+
+    @Test
+    void readingWindowOfStationUsesIndex() {
+        assertThat(explain("""
+                SELECT * FROM weather_readings WHERE station_id = 'station-1'
+                AND timestamp BETWEEN TIMESTAMP '2024-01-01 01:00:00' AND TIMESTAMP '2024-01-01 02:00:00'
+                ORDER BY timestamp ASC
+                """)).contains(INDEX);
+    }
+
+    @Test
+    void distinctStationIdsSkipReadingsWithoutStation() {
+        assertThat(readingRepository.findDistinctStationIds())
+                .containsExactly("station-0", "station-1", "station-2", "station-3");
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+}
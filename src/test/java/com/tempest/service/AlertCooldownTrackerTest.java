@@ -0,0 +1,114 @@
+package com.tempest.service;
+
+import com.tempest.entity.WeatherAlert;
+import com.tempest.repository.WeatherAlertRepository;
+import com.tempest.repository.WeatherAlertRepositoryCustom.TriggerDelta;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class AlertCooldownTrackerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private final WeatherAlertRepository repository = mock(WeatherAlertRepository.class);
+    private final AlertCooldownTracker tracker = new AlertCooldownTracker(repository);
+    private final WeatherAlert alert = WeatherAlert.builder().id(1L).cooldownMinutes(30).build();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void cooldownBlocksUntilItExpires() {
+        assertThat(tracker.tryAcquire(alert, NOW)).isTrue();
+        assertThat(tracker.tryAcquire(alert, NOW.plusMinutes(29))).isFalse();
+        assertThat(tracker.tryAcquire(alert, NOW.plusMinutes(30))).isTrue();
+    }
+
+    @Test
+    void rollbackGivesTheCooldownBack() {
+        inTransaction(() -> assertThat(tracker.tryAcquire(alert, NOW)).isTrue(),
+                TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(tracker.tryAcquire(alert, NOW.plusMinutes(1))).isTrue();
+    }
+
+    @Test
+    void rollbackRestoresThePreviousTrigger() {
+        assertThat(tracker.tryAcquire(alert, NOW)).isTrue();
+        inTransaction(() -> assertThat(tracker.tryAcquire(alert, NOW.plusMinutes(40))).isTrue(),
+                TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(tracker.tryAcquire(alert, NOW.plusMinutes(41))).isTrue();
+        assertThat(tracker.tryAcquire(alert, NOW.plusMinutes(42))).isFalse();
+    }
+
+    @Test
+    void triggerCountsOnlyOnceCommitted() {
+        inTransaction(() -> {
+            assertThat(tracker.tryAcquire(alert, NOW)).isTrue();
+            tracker.flush();
+            verify(repository, never()).applyTriggers(anyList());
+        }, TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(tracker.tryAcquire(alert, NOW.plusMinutes(1))).isFalse();
+        tracker.flush();
+        verify(repository).applyTriggers(List.of(new TriggerDelta(1L, NOW, 1)));
+    }
+
+    @Test
+    void rollbackLeavesALaterTriggerInPlace() {
+        TransactionSynchronizationManager.initSynchronization();
+        assertThat(tracker.tryAcquire(alert, NOW)).isTrue();
+        List<TransactionSynchronization> pending = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // Fired again by another thread before the first transaction rolls back
+        assertThat(tracker.tryAcquire(alert, NOW.plusMinutes(40))).isTrue();
+        pending.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(tracker.tryAcquire(alert, NOW.plusMinutes(41))).isFalse();
+    }
+
+    @Test
+    void failedFlushKeepsTriggersForTheNextOne() {
+        doThrow(new DataAccessResourceFailureException("connection lost"))
+                .doNothing()
+                .when(repository).applyTriggers(anyList());
+        tracker.tryAcquire(alert, NOW);
+        tracker.flush();
+
+        tracker.tryAcquire(alert, NOW.plusMinutes(30));
+        tracker.flush();
+
+        verify(repository).applyTriggers(List.of(new TriggerDelta(1L, NOW.plusMinutes(30), 2)));
+    }
+
+    private static void inTransaction(Runnable work, int status) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(status);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.tempest.service;
+
+import com.tempest.entity.WeatherReading;
+import com.tempest.repository.AlertHistoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class AlertEvaluationServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private final AlertRuleIndex ruleIndex = mock(AlertRuleIndex.class);
+    private final AlertEvaluationService service = new AlertEvaluationService(ruleIndex,
+            mock(AlertCooldownTracker.class), new AlertWindowTracker(), mock(AlertHistoryRepository.class),
+            mock(NotificationService.class));
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void committedEvaluationIsNotRepeated() {
+        WeatherReading reading = reading(1L, NOW);
+        complete(inTransaction(() -> service.evaluateReading(reading)), TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(service.isEvaluated(reading)).isTrue();
+        service.evaluateReading(reading);
+        verify(ruleIndex, times(1)).findTriggered(any());
+    }
+
+    @Test
+    void rolledBackEvaluationIsEvaluatedAgain() {
+        WeatherReading reading = reading(1L, NOW);
+        complete(inTransaction(() -> service.evaluateReading(reading)), TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(service.isEvaluated(reading)).isFalse();
+        service.evaluateReading(reading);
+        verify(ruleIndex, times(2)).findTriggered(any());
+    }
+
+    @Test
+    void rollbackRestoresThePreviousWatermark() {
+        WeatherReading first = reading(1L, NOW);
+        WeatherReading second = reading(2L, NOW.plusMinutes(1));
+        service.evaluateReading(first);
+
+        complete(inTransaction(() -> service.evaluateReading(second)), TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(service.isEvaluated(first)).isTrue();
+        assertThat(service.isEvaluated(second)).isFalse();
+    }
+
+    @Test
+    void rollbackLeavesANewerReadingEvaluatedMeanwhile() {
+        WeatherReading first = reading(1L, NOW);
+        WeatherReading second = reading(2L, NOW.plusMinutes(1));
+        List<TransactionSynchronization> pending = inTransaction(() -> service.evaluateReading(first));
+
+        // Evaluated by another thread before the first transaction rolls back
+        service.evaluateReading(second);
+        complete(pending, TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(service.isEvaluated(second)).isTrue();
+    }
+
+    /**
+     * Run work with transaction synchronization active and return the synchronizations it registered,
+     * leaving synchronization inactive again.
+     */
+    private static List<TransactionSynchronization> inTransaction(Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static void complete(List<TransactionSynchronization> synchronizations, int status) {
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private static WeatherReading reading(Long id, LocalDateTime timestamp) {
+        return WeatherReading.builder()
+                .id(id)
+                .stationId("station-01")
+                .timestamp(timestamp)
+                .temperature(20.0)
+                .build();
+    }
+}
@@ -0,0 +1,131 @@
+package com.tempest.service;
+
+import com.tempest.entity.ComparisonOperator;
+import com.tempest.entity.WeatherAlert;
+import com.tempest.entity.WeatherMetric;
+import com.tempest.entity.WeatherReading;
+import com.tempest.repository.WeatherAlertRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AlertRuleIndexTest {
+
+    private static final double[] THRESHOLDS = {-5.0, 0.0, 19.99, 20.0, 20.005, 20.01, 20.02, 35.5};
+
+    private final AtomicLong ids = new AtomicLong();
+
+    @Test
+    void greaterEqualTriggersAtThreshold() {
+        WeatherAlert alert = alert(ComparisonOperator.GREATER_EQUAL, 20.0);
+        AlertRuleIndex index = index(List.of(alert));
+
+        assertThat(index.findTriggered(reading(20.0))).containsExactly(alert);
+        assertThat(index.findTriggered(reading(19.999))).isEmpty();
+    }
+
+    @Test
+    void greaterThanDoesNotTriggerAtThreshold() {
+        WeatherAlert alert = alert(ComparisonOperator.GREATER_THAN, 20.0);
+        AlertRuleIndex index = index(List.of(alert));
+
+        assertThat(index.findTriggered(reading(20.0))).isEmpty();
+        assertThat(index.findTriggered(reading(20.001))).containsExactly(alert);
+    }
+
+    @Test
+    void lessOperatorsAtThreshold() {
+        WeatherAlert lessThan = alert(ComparisonOperator.LESS_THAN, 0.0);
+        WeatherAlert lessEqual = alert(ComparisonOperator.LESS_EQUAL, 0.0);
+        AlertRuleIndex index = index(List.of(lessThan, lessEqual));
+
+        assertThat(index.findTriggered(reading(0.0))).containsExactly(lessEqual);
+        assertThat(index.findTriggered(reading(-0.001))).containsExactlyInAnyOrder(lessThan, lessEqual);
+    }
+
+    @Test
+    void equalsTriggersWithinEpsilon() {
+        WeatherAlert alert = alert(ComparisonOperator.EQUALS, 20.0);
+        AlertRuleIndex index = index(List.of(alert));
+
+        assertThat(index.findTriggered(reading(20.0))).containsExactly(alert);
+        assertThat(index.findTriggered(reading(20.009))).containsExactly(alert);
+        assertThat(index.findTriggered(reading(19.991))).containsExactly(alert);
+        assertThat(index.findTriggered(reading(20.011))).isEmpty();
+        assertThat(index.findTriggered(reading(19.989))).isEmpty();
+    }
+
+    @Test
+    void matchesOperatorEvaluationAtEveryBoundary() {
+        List<WeatherAlert> alerts = new ArrayList<>();
+        for (ComparisonOperator operator : ComparisonOperator.values()) {
+            for (double threshold : THRESHOLDS) {
+                alerts.add(alert(operator, threshold));
+            }
+        }
+        AlertRuleIndex index = index(alerts);
+
+        List<Double> values = new ArrayList<>();
+        for (double threshold : THRESHOLDS) {
+            for (double offset : new double[]{-0.02, -0.01, -0.005, 0.0, 0.005, 0.01, 0.02}) {
+                values.add(threshold + offset);
+                values.add(Math.nextUp(threshold + offset));
+                values.add(Math.nextDown(threshold + offset));
+            }
+        }
+
+        for (double value : values) {
+            List<WeatherAlert> expected = alerts.stream()
+                    .filter(alert -> alert.getOperator().evaluate(value, alert.getThreshold()))
+                    .toList();
+            assertThat(index.findTriggered(reading(value)))
+                    .as("value %s", value)
+                    .containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    @Test
+    void combinesStationAndGlobalAlertsOnTheReadingsMetric() {
+        WeatherAlert station = alert(ComparisonOperator.GREATER_THAN, 10.0);
+        station.setStationId("station-01");
+        WeatherAlert otherStation = alert(ComparisonOperator.GREATER_THAN, 10.0);
+        otherStation.setStationId("station-02");
+        WeatherAlert global = alert(ComparisonOperator.GREATER_THAN, 10.0);
+        WeatherAlert otherMetric = alert(ComparisonOperator.GREATER_THAN, 10.0);
+        otherMetric.setMetric(WeatherMetric.HUMIDITY);
+        AlertRuleIndex index = index(List.of(station, otherStation, global, otherMetric));
+
+        assertThat(index.findTriggered(reading(15.0))).containsExactlyInAnyOrder(station, global);
+    }
+
+    private AlertRuleIndex index(List<WeatherAlert> alerts) {
+        WeatherAlertRepository repository = mock(WeatherAlertRepository.class);
+        when(repository.findEnabledForIndex()).thenReturn(alerts);
+        return new AlertRuleIndex(repository);
+    }
+
+    private WeatherAlert alert(ComparisonOperator operator, double threshold) {
+        return WeatherAlert.builder()
+                .id(ids.incrementAndGet())
+                .name(operator + " " + threshold)
+                .metric(WeatherMetric.TEMPERATURE)
+                .operator(operator)
+                .threshold(threshold)
+                .build();
+    }
+
+    private static WeatherReading reading(double temperature) {
+        return WeatherReading.builder()
+                .stationId("station-01")
+                .timestamp(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .temperature(temperature)
+                .build();
+    }
+}
@@ -0,0 +1,152 @@
+package com.tempest.service;
+
+import com.tempest.entity.AlertCondition;
+import com.tempest.entity.ComparisonOperator;
+import com.tempest.entity.WeatherAlert;
+import com.tempest.entity.WeatherMetric;
+import com.tempest.entity.WeatherReading;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+class AlertWindowTrackerTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private final AlertWindowTracker tracker = new AlertWindowTracker();
+
+    @Test
+    void averageEvictsReadingsOlderThanTheWindow() {
+        WeatherAlert alert = alert(1L, AlertCondition.WINDOW_AVERAGE, 10);
+
+        value(alert, 0, 10.0);
+        value(alert, 5, 20.0);
+        // Exactly one window after the first reading, which is still inside
+        assertThat(value(alert, 10, 30.0)).isEqualTo(20.0);
+        assertThat(value(alert, 11, 40.0)).isEqualTo(30.0);
+        assertThat(value(alert, 16, 50.0)).isEqualTo(40.0);
+    }
+
+    @Test
+    void windowIsNotEvaluatedUntilReadingsCoverIt() {
+        WeatherAlert average = alert(1L, AlertCondition.WINDOW_AVERAGE, 10);
+        WeatherAlert change = alert(2L, AlertCondition.RATE_OF_CHANGE, 10);
+
+        assertThat(value(average, 0, 40.0)).isNull();
+        assertThat(value(change, 0, 40.0)).isNull();
+        assertThat(value(average, 9, 40.0)).isNull();
+        assertThat(value(change, 9, 40.0)).isNull();
+        assertThat(value(average, 10, 40.0)).isEqualTo(40.0);
+        assertThat(value(change, 10, 40.0)).isEqualTo(0.0);
+    }
+
+    @Test
+    void windowIsNotEvaluatedAcrossAGapLongerThanTheWindow() {
+        WeatherAlert alert = alert(1L, AlertCondition.WINDOW_AVERAGE, 10);
+
+        value(alert, 0, 10.0);
+        assertThat(value(alert, 10, 10.0)).isEqualTo(10.0);
+        assertThat(value(alert, 40, 50.0)).isNull();
+        assertThat(value(alert, 45, 50.0)).isNull();
+        // The reading at minute 40 is evicted, and the one at 45 follows it within the window
+        assertThat(value(alert, 51, 50.0)).isEqualTo(50.0);
+    }
+
+    @Test
+    void changeIsMeasuredFromTheOldestReadingInTheWindow() {
+        WeatherAlert alert = alert(1L, AlertCondition.RATE_OF_CHANGE, 180);
+
+        assertThat(value(alert, 0, 1015.0)).isNull();
+        assertThat(value(alert, 60, 1013.0)).isNull();
+        assertThat(value(alert, 180, 1011.0)).isEqualTo(-4.0);
+        assertThat(value(alert, 200, 1010.0)).isEqualTo(-3.0);
+    }
+
+    @Test
+    void evictionKeepsRunningSumAcrossRingBufferGrowth() {
+        WeatherAlert alert = alert(1L, AlertCondition.WINDOW_AVERAGE, 30);
+
+        Double average = null;
+        for (int minute = 0; minute < 200; minute++) {
+            average = value(alert, minute, minute);
+        }
+
+        // Minutes 169 to 199 are within the window
+        assertThat(average).isCloseTo(184.0, offset(1e-9));
+    }
+
+    @Test
+    void ignoresReadingsAlreadySeen() {
+        WeatherAlert alert = alert(1L, AlertCondition.WINDOW_AVERAGE, 5);
+
+        value(alert, 0, 10.0);
+        value(alert, 5, 20.0);
+
+        assertThat(value(alert, 5, 100.0)).isEqualTo(15.0);
+        assertThat(value(alert, 2, 100.0)).isEqualTo(15.0);
+    }
+
+    @Test
+    void sustainedFiresOnceHeldForTheWindow() {
+        WeatherAlert alert = alert(1L, AlertCondition.SUSTAINED, 10);
+
+        assertThat(value(alert, 0, 31.0)).isNull();
+        assertThat(value(alert, 5, 32.0)).isNull();
+        assertThat(value(alert, 10, 33.0)).isEqualTo(33.0);
+    }
+
+    @Test
+    void sustainedRestartsWhenConditionBreaks() {
+        WeatherAlert alert = alert(1L, AlertCondition.SUSTAINED, 10);
+
+        value(alert, 0, 31.0);
+        value(alert, 5, 29.0);
+        assertThat(value(alert, 10, 31.0)).isNull();
+        assertThat(value(alert, 20, 31.0)).isEqualTo(31.0);
+    }
+
+    @Test
+    void sustainedDoesNotBridgeGapsLongerThanTheWindow() {
+        WeatherAlert alert = alert(1L, AlertCondition.SUSTAINED, 10);
+
+        assertThat(value(alert, 0, 31.0)).isNull();
+        assertThat(value(alert, 60, 31.0)).isNull();
+        assertThat(value(alert, 65, 31.0)).isNull();
+        assertThat(value(alert, 70, 31.0)).isEqualTo(31.0);
+    }
+
+    @Test
+    void sustainedStateIsKeptPerAlert() {
+        WeatherAlert first = alert(1L, AlertCondition.SUSTAINED, 10);
+        WeatherAlert second = alert(2L, AlertCondition.SUSTAINED, 10);
+
+        value(first, 0, 31.0);
+        value(second, 5, 31.0);
+
+        assertThat(value(first, 10, 31.0)).isEqualTo(31.0);
+        assertThat(value(second, 10, 31.0)).isNull();
+    }
+
+    private Double value(WeatherAlert alert, int minute, double temperature) {
+        return tracker.conditionValue(alert, WeatherReading.builder()
+                .stationId("station-01")
+                .timestamp(START.plusMinutes(minute))
+                .temperature(temperature)
+                .build());
+    }
+
+    private static WeatherAlert alert(Long id, AlertCondition condition, int windowMinutes) {
+        return WeatherAlert.builder()
+                .id(id)
+                .name(condition.name())
+                .metric(WeatherMetric.TEMPERATURE)
+                .operator(ComparisonOperator.GREATER_THAN)
+                .threshold(30.0)
+                .condition(condition)
+                .windowMinutes(windowMinutes)
+                .build();
+    }
+}
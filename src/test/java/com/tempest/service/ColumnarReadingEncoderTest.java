@@ -0,0 +1,208 @@
+package com.tempest.service;
+
+import com.tempest.entity.WeatherMetric;
+import com.tempest.entity.WeatherReading;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColumnarReadingEncoderTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 10, 12, 0);
+
+    @Test
+    void roundTripsTimestampsAndValues() {
+        List<WeatherReading> readings = new ArrayList<>();
+        for (int i = 0; i < 13; i++) {
+            readings.add(WeatherReading.builder()
+                    .timestamp(START.plusSeconds(i * 61L))
+                    .temperature(20.5 + i)
+                    .humidity(i % 3 == 0 ? null : 40.0 + i)
+                    .pressure(1013.25)
+                    .windSpeed(i == 8 ? 12.0 : null)
+                    .build());
+        }
+        // A replayed reading steps back in time, so its delta is negative
+        readings.add(WeatherReading.builder().timestamp(START.minusHours(1)).temperature(-4.0).build());
+
+        Decoded decoded = decode(ByteBuffer.wrap(ColumnarReadingEncoder.encode(readings)));
+
+        assertThat(decoded.timestamps).containsExactly(
+                readings.stream().map(r -> r.getTimestamp().toEpochSecond(ZoneOffset.UTC)).toArray(Long[]::new));
+        for (WeatherMetric metric : WeatherMetric.values()) {
+            assertThat(decoded.columns.get(metric))
+                    .as(metric.name())
+                    .containsExactly(readings.stream().map(metric::extractValue).toArray(Double[]::new));
+        }
+    }
+
+    @Test
+    void presenceBitmapMarksOnlyReadingsWithValues() {
+        List<WeatherReading> readings = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            readings.add(WeatherReading.builder()
+                    .timestamp(START.plusMinutes(i))
+                    .rainfall(i == 0 || i == 9 ? 1.5 : null)
+                    .build());
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(ColumnarReadingEncoder.encode(readings)).order(ByteOrder.LITTLE_ENDIAN);
+        skipHeader(buffer, readings.size());
+
+        buffer.get(); // metric count
+        for (WeatherMetric metric : WeatherMetric.values()) {
+            assertThat(buffer.get()).isEqualTo((byte) metric.ordinal());
+            byte[] bitmap = new byte[2];
+            buffer.get(bitmap);
+            if (metric == WeatherMetric.RAINFALL) {
+                // Bits 0 and 9: LSB of the first byte, second bit of the second byte
+                assertThat(bitmap).containsExactly(0x01, 0x02);
+                assertThat(buffer.getDouble()).isEqualTo(1.5);
+                assertThat(buffer.getDouble()).isEqualTo(1.5);
+            } else {
+                assertThat(bitmap).containsExactly(0x00, 0x00);
+            }
+        }
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void encodesEmptySeries() {
+        Decoded decoded = decode(ByteBuffer.wrap(ColumnarReadingEncoder.encode(List.of())));
+
+        assertThat(decoded.timestamps).isEmpty();
+        assertThat(decoded.columns).hasSize(WeatherMetric.values().length);
+        decoded.columns.values().forEach(column -> assertThat(column).isEmpty());
+    }
+
+    @Test
+    void roundTripsBundle() {
+        Map<String, List<WeatherReading>> series = new LinkedHashMap<>();
+        series.put("station-01", List.of(
+                WeatherReading.builder().timestamp(START).temperature(18.0).build(),
+                WeatherReading.builder().timestamp(START.plusMinutes(5)).temperature(18.5).build()));
+        series.put("stätion-02", List.of());
+
+        ByteBuffer buffer = ByteBuffer.wrap(ColumnarReadingEncoder.encodeBundle(series)).order(ByteOrder.LITTLE_ENDIAN);
+        byte[] magic = new byte[4];
+        buffer.get(magic);
+        assertThat(magic).containsExactly('T', 'C', 'B', 1);
+        assertThat(buffer.getShort()).isEqualTo((short) 2);
+
+        for (Map.Entry<String, List<WeatherReading>> entry : series.entrySet()) {
+            byte[] id = new byte[buffer.getShort()];
+            buffer.get(id);
+            assertThat(new String(id, StandardCharsets.UTF_8)).isEqualTo(entry.getKey());
+            int length = buffer.getInt();
+            Decoded decoded = decode(buffer.slice(buffer.position(), length));
+            buffer.position(buffer.position() + length);
+
+            assertThat(decoded.timestamps).hasSize(entry.getValue().size());
+            assertThat(decoded.columns.get(WeatherMetric.TEMPERATURE)).containsExactly(
+                    entry.getValue().stream().map(WeatherReading::getTemperature).toArray(Double[]::new));
+        }
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void dashboardDecoderListsMetricsInEnumOrder() throws IOException {
+        String script;
+        try (InputStream in = getClass().getResourceAsStream("/static/js/columnar.js")) {
+            assertThat(in).isNotNull();
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        Matcher matcher = Pattern.compile("const METRICS = \\[([^]]*)]").matcher(script);
+        assertThat(matcher.find()).isTrue();
+        List<String> names = Arrays.stream(matcher.group(1).split(","))
+                .map(name -> name.trim().replace("'", ""))
+                .toList();
+
+        assertThat(names).containsExactly(Arrays.stream(WeatherMetric.values())
+                .map(ColumnarReadingEncoderTest::camelCase)
+                .toArray(String[]::new));
+    }
+
+    private static String camelCase(WeatherMetric metric) {
+        String[] words = metric.name().toLowerCase().split("_");
+        StringBuilder name = new StringBuilder(words[0]);
+        for (int i = 1; i < words.length; i++) {
+            name.append(Character.toUpperCase(words[i].charAt(0))).append(words[i].substring(1));
+        }
+        return name.toString();
+    }
+
+    private static void skipHeader(ByteBuffer buffer, int count) {
+        buffer.position(8);
+        buffer.getLong();
+        for (int i = 1; i < count; i++) {
+            getVarint(buffer);
+        }
+    }
+
+    /**
+     * Reference decoder following the layout documented on {@link ColumnarReadingEncoder}.
+     */
+    private static Decoded decode(ByteBuffer buffer) {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        byte[] magic = new byte[4];
+        buffer.get(magic);
+        assertThat(magic).containsExactly('T', 'C', 'R', 1);
+
+        int count = buffer.getInt();
+        List<Long> timestamps = new ArrayList<>(count);
+        long seconds = buffer.getLong();
+        if (count > 0) {
+            timestamps.add(seconds);
+        }
+        for (int i = 1; i < count; i++) {
+            long zigzag = getVarint(buffer);
+            seconds += (zigzag >>> 1) ^ -(zigzag & 1);
+            timestamps.add(seconds);
+        }
+
+        Map<WeatherMetric, List<Double>> columns = new LinkedHashMap<>();
+        int bitmapLength = (count + 7) / 8;
+        int metricCount = Byte.toUnsignedInt(buffer.get());
+        for (int m = 0; m < metricCount; m++) {
+            WeatherMetric metric = WeatherMetric.values()[Byte.toUnsignedInt(buffer.get())];
+            byte[] bitmap = new byte[bitmapLength];
+            buffer.get(bitmap);
+            List<Double> values = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                values.add((bitmap[i >> 3] & (1 << (i & 7))) != 0 ? buffer.getDouble() : null);
+            }
+            columns.put(metric, values);
+        }
+        assertThat(buffer.hasRemaining()).isFalse();
+        return new Decoded(timestamps, columns);
+    }
+
+    private static long getVarint(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private record Decoded(List<Long> timestamps, Map<WeatherMetric, List<Double>> columns) {
+    }
+}
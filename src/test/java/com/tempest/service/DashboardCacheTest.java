@@ -0,0 +1,113 @@
+package com.tempest.service;
+
+import com.tempest.dto.StationDashboardDTO;
+import com.tempest.entity.WeatherReading;
+import com.tempest.entity.WeatherStation;
+import com.tempest.event.ReadingsDeletedEvent;
+import com.tempest.event.ReadingsRecordedEvent;
+import com.tempest.repository.WeatherReadingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DashboardCacheTest {
+
+    private final WeatherService weatherService = mock(WeatherService.class);
+    private final DashboardCache cache = new DashboardCache(weatherService, new QueryFanOut(2));
+    private final List<WeatherStation> stations = List.of(station("station-01"), station("station-02"));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 300L);
+        when(weatherService.getStatsForStations(anyCollection(), anyInt())).thenReturn(Map.of());
+    }
+
+    @Test
+    void entriesAreServedFromMemoryUntilTheirStationRecordsReadings() {
+        List<StationDashboardDTO> first = cache.get(stations);
+        List<StationDashboardDTO> second = cache.get(stations);
+
+        assertThat(cache.etag(second)).isEqualTo(cache.etag(first));
+        verify(weatherService, times(2)).getStatsForStations(anyCollection(), anyInt());
+
+        cache.onReadingsRecorded(new ReadingsRecordedEvent(List.of(reading("station-01"))));
+        List<StationDashboardDTO> third = cache.get(stations);
+
+        assertThat(third.get(0).getVersion()).isNotEqualTo(first.get(0).getVersion());
+        assertThat(third.get(1).getVersion()).isEqualTo(first.get(1).getVersion());
+        verify(weatherService, times(4)).getStatsForStations(anyCollection(), anyInt());
+    }
+
+    @Test
+    void invalidationDuringALoadMarksTheLoadedEntryStale() {
+        when(weatherService.getStatsForStations(anyCollection(), anyInt())).thenAnswer(invocation -> {
+            cache.onReadingsRecorded(new ReadingsRecordedEvent(List.of(reading("station-01"))));
+            return Map.of();
+        }).thenReturn(Map.of());
+
+        List<StationDashboardDTO> first = cache.get(stations);
+        List<StationDashboardDTO> second = cache.get(stations);
+
+        assertThat(second.get(0).getVersion()).isNotEqualTo(first.get(0).getVersion());
+    }
+
+    @Test
+    void deletingAllReadingsDropsEveryEntry() {
+        List<StationDashboardDTO> first = cache.get(stations);
+
+        cache.onReadingsDeleted(new ReadingsDeletedEvent(null));
+        List<StationDashboardDTO> second = cache.get(stations);
+
+        assertThat(second.get(0).getVersion()).isNotEqualTo(first.get(0).getVersion());
+        assertThat(second.get(1).getVersion()).isNotEqualTo(first.get(1).getVersion());
+    }
+
+    @Test
+    void latestReadingCacheAppliesReadingsBeforeTheDashboardIsInvalidated() {
+        LatestReadingCache latestReadingCache = spy(new LatestReadingCache(mock(WeatherReadingRepository.class)));
+        DashboardCache dashboardCache = spy(new DashboardCache(weatherService, new QueryFanOut(2)));
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            // Registered in the opposite order to the one the listeners must run in
+            context.registerBean(DashboardCache.class, () -> dashboardCache);
+            context.registerBean(LatestReadingCache.class, () -> latestReadingCache);
+            context.refresh();
+
+            ReadingsRecordedEvent event = new ReadingsRecordedEvent(List.of(reading("station-01")));
+            context.publishEvent(event);
+
+            InOrder order = inOrder(latestReadingCache, dashboardCache);
+            order.verify(latestReadingCache).onReadingsRecorded(event);
+            order.verify(dashboardCache).onReadingsRecorded(event);
+        }
+    }
+
+    private static WeatherStation station(String stationId) {
+        return WeatherStation.builder().stationId(stationId).name(stationId).build();
+    }
+
+    private static WeatherReading reading(String stationId) {
+        return WeatherReading.builder()
+                .id(1L)
+                .stationId(stationId)
+                .timestamp(LocalDateTime.now())
+                .temperature(20.0)
+                .build();
+    }
+}
@@ -0,0 +1,144 @@
+package com.tempest.service;
+
+import com.tempest.entity.ComparisonOperator;
+import com.tempest.entity.NotificationChannel;
+import com.tempest.entity.NotificationJob;
+import com.tempest.entity.NotificationType;
+import com.tempest.entity.WeatherAlert;
+import com.tempest.entity.WeatherMetric;
+import com.tempest.entity.WeatherReading;
+import com.tempest.repository.AlertHistoryRepository;
+import com.tempest.repository.NotificationJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest(showSql = false)
+class NotificationDispatcherTest {
+
+    private static final String RECIPIENT = "ops@example.com";
+
+    @Autowired
+    private NotificationJobRepository jobRepository;
+
+    private NotificationService notificationService;
+    private NotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        notificationService = spy(new NotificationService(mock(JavaMailSender.class), mock(TwilioSmsSender.class),
+                jobRepository, mock(AlertHistoryRepository.class), mock(ApplicationEventPublisher.class)));
+        doNothing().when(notificationService).deliver(anyList());
+        dispatcher = new NotificationDispatcher(jobRepository, notificationService, new SyncTaskExecutor());
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 50);
+        ReflectionTestUtils.setField(dispatcher, "maxDigestSize", 20);
+    }
+
+    @Test
+    void twoAlertsInsideTheWindowGoOutAsOneDigest() {
+        WeatherAlert alert = alert(10);
+        notificationService.enqueueAlertNotification(alert, reading(), 35.0, null);
+        notificationService.enqueueAlertNotification(alert, reading(), 36.0, null);
+
+        dispatcher.dispatchDue();
+        verify(notificationService, never()).deliver(anyList());
+
+        // The first notification's window ends; the second is still inside its own
+        NotificationJob first = jobRepository.findAll().get(0);
+        first.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        jobRepository.save(first);
+
+        dispatcher.dispatchDue();
+
+        List<NotificationJob> digest = delivered();
+        assertThat(digest).hasSize(2);
+        assertThat(digest).allMatch(job -> job.getRecipient().equals(RECIPIENT));
+    }
+
+    @Test
+    void jobsInRetryBackoffAreNotPulledIntoADigest() {
+        LocalDateTime now = LocalDateTime.now();
+        NotificationJob due = jobRepository.save(job(RECIPIENT, now.minusMinutes(1), 0));
+        jobRepository.save(job(RECIPIENT, now.plusMinutes(5), 2));
+        jobRepository.save(job("other@example.com", now.plusMinutes(5), 0));
+
+        dispatcher.dispatchDue();
+
+        assertThat(delivered()).extracting(NotificationJob::getId).containsExactly(due.getId());
+    }
+
+    @Test
+    void digestIsCappedAtMaxDigestSize() {
+        ReflectionTestUtils.setField(dispatcher, "maxDigestSize", 3);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 5; i++) {
+            jobRepository.save(job(RECIPIENT, now.minusMinutes(1), 0));
+        }
+
+        dispatcher.dispatchDue();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<NotificationJob>> groups = ArgumentCaptor.forClass(List.class);
+        verify(notificationService, times(2)).deliver(groups.capture());
+        assertThat(groups.getAllValues()).extracting(List::size).containsExactly(3, 2);
+    }
+
+    private List<NotificationJob> delivered() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<NotificationJob>> group = ArgumentCaptor.forClass(List.class);
+        verify(notificationService).deliver(group.capture());
+        return group.getValue();
+    }
+
+    private static NotificationJob job(String recipient, LocalDateTime nextAttemptAt, int attempts) {
+        return NotificationJob.builder()
+                .channel(NotificationChannel.EMAIL)
+                .recipient(recipient)
+                .subject("Weather Alert")
+                .body("body")
+                .summary("summary")
+                .attempts(attempts)
+                .nextAttemptAt(nextAttemptAt)
+                .build();
+    }
+
+    private static WeatherAlert alert(int digestWindowMinutes) {
+        return WeatherAlert.builder()
+                .id(1L)
+                .name("hot")
+                .metric(WeatherMetric.TEMPERATURE)
+                .operator(ComparisonOperator.GREATER_THAN)
+                .threshold(30.0)
+                .notificationType(NotificationType.EMAIL)
+                .userEmail(RECIPIENT)
+                .digestWindowMinutes(digestWindowMinutes)
+                .build();
+    }
+
+    private static WeatherReading reading() {
+        return WeatherReading.builder()
+                .id(1L)
+                .stationId("station-01")
+                .timestamp(LocalDateTime.now())
+                .temperature(35.0)
+                .build();
+    }
+}
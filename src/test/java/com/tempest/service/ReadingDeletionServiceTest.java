@@ -0,0 +1,180 @@
+package com.tempest.service;
+
+import com.tempest.dto.ReadingDeletionJobDTO;
+import com.tempest.entity.ReadingRollup;
+import com.tempest.entity.RollupGranularity;
+import com.tempest.entity.WeatherReading;
+import com.tempest.repository.ReadingRollupRepository;
+import com.tempest.repository.RollupBackfillRepository;
+import com.tempest.repository.WeatherReadingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest(showSql = false)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReadingDeletionServiceTest {
+
+    @Autowired
+    private WeatherReadingRepository readingRepository;
+
+    @Autowired
+    private ReadingRollupRepository rollupRepository;
+
+    @Autowired
+    private RollupBackfillRepository backfillRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private RollupService rollupService;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        rollupService = new RollupService(rollupRepository, readingRepository, backfillRepository, transactionTemplate);
+        ReflectionTestUtils.setField(rollupService, "fiveMinuteDays", 30);
+        ReflectionTestUtils.setField(rollupService, "hourlyDays", 730);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        rollupRepository.deleteAllInBatch();
+        readingRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void readingInTheJobStartBucketKeepsItsRollups() {
+        record(reading("station-01", LocalDateTime.now().minusSeconds(1)));
+        record(reading("station-01", LocalDateTime.now().minusDays(2)));
+
+        WeatherReading kept = reading("station-01", LocalDateTime.now());
+        run(deletionService(kept, new LatestReadingCache(readingRepository)), "station-01");
+
+        assertThat(readingRepository.findAll()).extracting(WeatherReading::getId).containsExactly(kept.getId());
+        assertThat(readingCounts("station-01")).containsEntry(RollupGranularity.FIVE_MINUTE, 1L)
+                .containsEntry(RollupGranularity.HOURLY, 1L)
+                .containsEntry(RollupGranularity.DAILY, 1L);
+    }
+
+    @Test
+    void lateReadingWithAnOldTimestampKeepsItsRollups() {
+        record(reading("station-01", LocalDateTime.now().minusHours(3)));
+        record(reading("station-02", LocalDateTime.now().minusHours(3)));
+
+        WeatherReading late = reading("station-01", LocalDateTime.now().minusHours(3).plusSeconds(1));
+        run(deletionService(late, new LatestReadingCache(readingRepository)), "station-01");
+
+        assertThat(readingRepository.findAll()).extracting(WeatherReading::getId)
+                .contains(late.getId()).hasSize(2);
+        assertThat(readingCounts("station-01")).containsEntry(RollupGranularity.FIVE_MINUTE, 1L)
+                .containsEntry(RollupGranularity.HOURLY, 1L)
+                .containsEntry(RollupGranularity.DAILY, 1L);
+        assertThat(readingCounts("station-02")).containsEntry(RollupGranularity.HOURLY, 1L);
+    }
+
+    @Test
+    void deletingAllStationsKeepsReadingsRecordedDuringTheJob() {
+        record(reading("station-01", LocalDateTime.now().minusHours(5)));
+        record(reading(null, LocalDateTime.now().minusHours(5)));
+
+        WeatherReading late = reading(null, LocalDateTime.now().minusHours(5));
+        run(deletionService(late, new LatestReadingCache(readingRepository)), null);
+
+        assertThat(readingRepository.findAll()).extracting(WeatherReading::getId).containsExactly(late.getId());
+        assertThat(readingCounts(ReadingRollup.NO_STATION)).containsEntry(RollupGranularity.DAILY, 1L);
+        assertThat(readingCounts("station-01")).isEmpty();
+    }
+
+    @Test
+    void cacheIsReloadedWithTheReadingsThatSurvived() {
+        record(reading("station-01", LocalDateTime.now().minusMinutes(10)));
+        LatestReadingCache cache = new LatestReadingCache(readingRepository);
+        cache.warm();
+
+        WeatherReading kept = reading("station-01", LocalDateTime.now().minusMinutes(20));
+        run(deletionService(kept, cache), "station-01");
+
+        assertThat(cache.getLatest("station-01")).map(WeatherReading::getId).contains(kept.getId());
+        assertThat(cache.getLatest()).map(WeatherReading::getId).contains(kept.getId());
+    }
+
+    /**
+     * Build a deletion service whose reading deletes record the given reading first, as if it
+     * arrived while the job was running.
+     */
+    private ReadingDeletionService deletionService(WeatherReading arriving, LatestReadingCache cache) {
+        WeatherReadingRepository readings = mock(WeatherReadingRepository.class, delegatesTo(readingRepository));
+        Runnable arrive = () -> {
+            if (arriving.getId() == null) {
+                record(arriving);
+            }
+        };
+        doAnswer(invocation -> {
+            arrive.run();
+            return readingRepository.deleteChunkForStation(
+                    invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+        }).when(readings).deleteChunkForStation(anyString(), anyLong(), anyInt());
+        doAnswer(invocation -> {
+            arrive.run();
+            return readingRepository.deleteChunk(invocation.getArgument(0), invocation.getArgument(1));
+        }).when(readings).deleteChunk(anyLong(), anyInt());
+
+        return new ReadingDeletionService(readings, rollupRepository, rollupService, cache,
+                mock(LiveStatsTracker.class), mock(ApplicationEventPublisher.class), new SyncTaskExecutor(), 2);
+    }
+
+    private void run(ReadingDeletionService service, String stationId) {
+        ReadingDeletionJobDTO job = stationId != null
+                ? service.deleteReadingsForStation(stationId)
+                : service.deleteAllReadings();
+        assertThat(service.getJob(job.getJobId())).map(ReadingDeletionJobDTO::getStatus)
+                .contains(ReadingDeletionJobDTO.Status.COMPLETED);
+    }
+
+    private void record(WeatherReading reading) {
+        transactionTemplate.executeWithoutResult(status ->
+                rollupService.apply(List.of(readingRepository.save(reading))));
+    }
+
+    private Map<RollupGranularity, Long> readingCounts(String stationId) {
+        Map<RollupGranularity, Long> counts = new EnumMap<>(RollupGranularity.class);
+        for (ReadingRollup rollup : rollupRepository.findAll()) {
+            if (rollup.getStationId().equals(stationId)) {
+                counts.merge(rollup.getGranularity(), rollup.getReadingCount(), Long::sum);
+            }
+        }
+        return counts;
+    }
+
+    private static WeatherReading reading(String stationId, LocalDateTime timestamp) {
+        return WeatherReading.builder()
+                .stationId(stationId)
+                .timestamp(timestamp)
+                .temperature(20.0)
+                .build();
+    }
+}
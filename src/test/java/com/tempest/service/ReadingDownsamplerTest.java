@@ -0,0 +1,84 @@
+package com.tempest.service;
+
+import com.tempest.entity.WeatherMetric;
+import com.tempest.entity.WeatherReading;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadingDownsamplerTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    void keepsEndpointsAndRespectsMaxPoints() {
+        List<WeatherReading> readings = series(1000);
+
+        List<WeatherReading> sampled = ReadingDownsampler.lttb(readings, 50, WeatherMetric.TEMPERATURE);
+
+        assertThat(sampled).hasSize(50);
+        assertThat(sampled.get(0)).isSameAs(readings.get(0));
+        assertThat(sampled.get(sampled.size() - 1)).isSameAs(readings.get(readings.size() - 1));
+        assertThat(sampled).isSortedAccordingTo((a, b) -> a.getTimestamp().compareTo(b.getTimestamp()));
+    }
+
+    @Test
+    void keepsIsolatedPeak() {
+        List<WeatherReading> readings = series(1000);
+        WeatherReading peak = readings.get(437);
+        peak.setTemperature(80.0);
+
+        List<WeatherReading> sampled = ReadingDownsampler.lttb(readings, 20, WeatherMetric.TEMPERATURE);
+
+        assertThat(sampled).contains(peak);
+    }
+
+    @Test
+    void returnsShortSeriesUnchanged() {
+        List<WeatherReading> readings = series(10);
+
+        assertThat(ReadingDownsampler.lttb(readings, 10, WeatherMetric.TEMPERATURE)).isSameAs(readings);
+    }
+
+    @Test
+    void raisesMaxPointsBelowThreeToThree() {
+        List<WeatherReading> readings = series(100);
+
+        List<WeatherReading> sampled = ReadingDownsampler.lttb(readings, 1, WeatherMetric.TEMPERATURE);
+
+        assertThat(sampled).hasSize(3);
+        assertThat(sampled.get(0)).isSameAs(readings.get(0));
+        assertThat(sampled.get(2)).isSameAs(readings.get(99));
+    }
+
+    @Test
+    void toleratesMissingValues() {
+        List<WeatherReading> readings = series(500);
+        for (int i = 100; i < 200; i++) {
+            readings.get(i).setTemperature(null);
+        }
+
+        List<WeatherReading> sampled = ReadingDownsampler.lttb(readings, 40, WeatherMetric.TEMPERATURE);
+
+        assertThat(sampled).hasSize(40);
+        assertThat(sampled.get(0)).isSameAs(readings.get(0));
+        assertThat(sampled.get(39)).isSameAs(readings.get(499));
+    }
+
+    private static List<WeatherReading> series(int size) {
+        List<WeatherReading> readings = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            readings.add(WeatherReading.builder()
+                    .id((long) i + 1)
+                    .stationId("station-01")
+                    .timestamp(START.plusMinutes(i))
+                    .temperature(20 + 5 * Math.sin(i / 50.0))
+                    .build());
+        }
+        return readings;
+    }
+}
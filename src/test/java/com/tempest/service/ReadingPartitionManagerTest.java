@@ -0,0 +1,118 @@
+package com.tempest.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReadingPartitionManagerTest {
+
+    private static final DateTimeFormatter BOUND = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final LocalDateTime MONTH = LocalDate.now().withDayOfMonth(1).atStartOfDay();
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ReadingPartitionManager manager = new ReadingPartitionManager(jdbcTemplate);
+    private final List<String[]> partitions = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(manager, "enabled", true);
+        ReflectionTestUtils.setField(manager, "premakeMonths", 1);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("PostgreSQL");
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class))).thenReturn(true);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenAnswer(invocation -> {
+            RowMapper<Object> mapper = invocation.getArgument(1);
+            List<Object> rows = new ArrayList<>();
+            for (String[] partition : partitions) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getString(1)).thenReturn(partition[0]);
+                when(rs.getString(2)).thenReturn(partition[1]);
+                rows.add(mapper.mapRow(rs, rows.size()));
+            }
+            return rows;
+        });
+    }
+
+    @Test
+    void createsMonthlyPartitionsFromTheNewestBoundThroughTheHorizon() {
+        partitions.add(new String[]{"weather_readings_archive", range(null, MONTH)});
+        partitions.add(new String[]{"weather_readings_default", "DEFAULT"});
+
+        manager.init();
+
+        List<String> statements = statements();
+        assertThat(statements).hasSize(2);
+        assertThat(statements.get(0)).contains("weather_readings_p" + SUFFIX.format(MONTH))
+                .contains("FROM ('" + BOUND.format(MONTH) + "') TO ('" + BOUND.format(MONTH.plusMonths(1)) + "')");
+        assertThat(statements.get(1)).contains("weather_readings_p" + SUFFIX.format(MONTH.plusMonths(1)));
+    }
+
+    @Test
+    void detachesTheArchiveLikeAnyPartitionOnceItExpires() {
+        ReflectionTestUtils.setField(manager, "detachAfterMonths", 2);
+        partitions.add(new String[]{"weather_readings_archive", range(null, MONTH.minusMonths(2))});
+        partitions.add(new String[]{"weather_readings_p" + SUFFIX.format(MONTH.minusMonths(2)),
+                range(MONTH.minusMonths(2), MONTH.minusMonths(1))});
+        partitions.add(new String[]{"weather_readings_default", "DEFAULT"});
+
+        manager.init();
+
+        assertThat(statements()).filteredOn(sql -> sql.contains("DETACH"))
+                .containsExactly("ALTER TABLE weather_readings DETACH PARTITION weather_readings_archive");
+    }
+
+    @Test
+    void leavesATableMigratedWithoutPartitioningAlone() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class))).thenReturn(false);
+
+        manager.init();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void doesNothingOnOtherDatabases() {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("H2");
+
+        manager.init();
+
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Boolean.class));
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    private List<String> statements() {
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, atLeast(0)).execute(sql.capture());
+        return sql.getAllValues();
+    }
+
+    /**
+     * Bound expression as PostgreSQL reports it for a range partition.
+     */
+    private static String range(LocalDateTime from, LocalDateTime to) {
+        String lower = from != null ? "('" + BOUND.format(from) + "')" : "(MINVALUE)";
+        return "FOR VALUES FROM " + lower + " TO ('" + BOUND.format(to) + "')";
+    }
+}
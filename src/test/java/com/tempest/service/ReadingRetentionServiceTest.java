@@ -0,0 +1,113 @@
+package com.tempest.service;
+
+import com.tempest.entity.RollupBackfill;
+import com.tempest.entity.RollupGranularity;
+import com.tempest.entity.WeatherReading;
+import com.tempest.repository.ReadingRollupRepository;
+import com.tempest.repository.RollupBackfillRepository;
+import com.tempest.repository.WeatherReadingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(showSql = false)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReadingRetentionServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now().withNano(0);
+
+    @Autowired
+    private WeatherReadingRepository readingRepository;
+
+    @Autowired
+    private ReadingRollupRepository rollupRepository;
+
+    @Autowired
+    private RollupBackfillRepository backfillRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ReadingRetentionService retentionService;
+
+    @BeforeEach
+    void setUp() {
+        RollupService rollupService = new RollupService(rollupRepository, readingRepository, backfillRepository,
+                new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(rollupService, "fiveMinuteDays", 30);
+        ReflectionTestUtils.setField(rollupService, "hourlyDays", 730);
+
+        retentionService = new ReadingRetentionService(readingRepository, rollupRepository, rollupService);
+        ReflectionTestUtils.setField(retentionService, "enabled", true);
+        ReflectionTestUtils.setField(retentionService, "rawDays", 30);
+        ReflectionTestUtils.setField(retentionService, "rawWindowHours", 48);
+        ReflectionTestUtils.setField(retentionService, "chunkSize", 2);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        readingRepository.deleteAllInBatch();
+        backfillRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void unfinishedBackfillKeepsReadingsItHasNotRolledUp() {
+        List<WeatherReading> expired = saveReadings(5, NOW.minusDays(40));
+        WeatherReading recent = readingRepository.save(reading(NOW.minusDays(1)));
+        saveBackfill(RollupGranularity.HOURLY, expired.get(1).getId(), recent.getId());
+        saveBackfill(RollupGranularity.DAILY, expired.get(3).getId(), recent.getId());
+
+        retentionService.enforceRetention();
+
+        assertThat(readingRepository.findAll()).extracting(WeatherReading::getId).containsExactlyInAnyOrder(
+                expired.get(2).getId(), expired.get(3).getId(), expired.get(4).getId(), recent.getId());
+    }
+
+    @Test
+    void completedBackfillExpiresEverythingPastTheCutoff() {
+        List<WeatherReading> expired = saveReadings(5, NOW.minusDays(40));
+        WeatherReading recent = readingRepository.save(reading(NOW.minusDays(1)));
+        saveBackfill(RollupGranularity.HOURLY, expired.get(4).getId(), expired.get(4).getId());
+
+        retentionService.enforceRetention();
+
+        assertThat(readingRepository.findAll()).extracting(WeatherReading::getId).containsExactly(recent.getId());
+    }
+
+    private List<WeatherReading> saveReadings(int count, LocalDateTime from) {
+        List<WeatherReading> readings = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            readings.add(reading(from.plusMinutes(i)));
+        }
+        return readingRepository.saveAll(readings);
+    }
+
+    private void saveBackfill(RollupGranularity granularity, long processedUpTo, long cutoffId) {
+        backfillRepository.save(RollupBackfill.builder()
+                .granularity(granularity)
+                .processedUpTo(processedUpTo)
+                .cutoffId(cutoffId)
+                .build());
+    }
+
+    private static WeatherReading reading(LocalDateTime timestamp) {
+        return WeatherReading.builder()
+                .stationId("station-01")
+                .timestamp(timestamp)
+                .temperature(20.0)
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package com.tempest.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class ReadingStreamPublisherTest {
+
+    private final ReadingStreamPublisher publisher = new ReadingStreamPublisher(mock(WeatherService.class),
+            mock(LiveStatsTracker.class), mock(LatestReadingCache.class), new ObjectMapper());
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(publisher, "timeoutMs", 60_000L);
+        ReflectionTestUtils.setField(publisher, "maxSubscribers", 2);
+    }
+
+    @Test
+    void subscribersBeyondTheLimitAreRefused() {
+        publisher.subscribe(null);
+        publisher.subscribe("station-01");
+
+        assertThatThrownBy(() -> publisher.subscribe(null)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void slotOfAGoneSubscriberIsGivenBackOnce() {
+        SseEmitter gone = publisher.subscribe(null);
+        publisher.subscribe(null);
+        gone.complete();
+
+        // Both heartbeats find the closed stream; only the first may give its slot back
+        publisher.heartbeat();
+        publisher.heartbeat();
+
+        publisher.subscribe(null);
+        assertThatThrownBy(() -> publisher.subscribe(null)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void concurrentSubscriptionsNeverOvershootTheLimit() throws Exception {
+        ReflectionTestUtils.setField(publisher, "maxSubscribers", 10);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (int i = 0; i < 64; i++) {
+                attempts.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        publisher.subscribe(null);
+                        return true;
+                    } catch (IllegalStateException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            int accepted = 0;
+            for (Future<Boolean> attempt : attempts) {
+                if (attempt.get()) {
+                    accepted++;
+                }
+            }
+            assertThat(accepted).isEqualTo(10);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.tempest.service;
+
+import com.tempest.entity.ReadingRollup;
+import com.tempest.entity.RollupBackfill;
+import com.tempest.entity.RollupGranularity;
+import com.tempest.entity.WeatherMetric;
+import com.tempest.entity.WeatherReading;
+import com.tempest.repository.ReadingRollupRepository;
+import com.tempest.repository.RollupBackfillRepository;
+import com.tempest.repository.WeatherReadingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest(showSql = false)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RollupServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now().withNano(0);
+
+    @Autowired
+    private ReadingRollupRepository rollupRepository;
+
+    @Autowired
+    private WeatherReadingRepository readingRepository;
+
+    @Autowired
+    private RollupBackfillRepository backfillRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        rollupRepository.deleteAllInBatch();
+        readingRepository.deleteAllInBatch();
+        backfillRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void mergesReadingsIntoExistingBuckets() {
+        RollupService service = service(rollupRepository);
+        service.init();
+
+        LocalDateTime hour = RollupGranularity.HOURLY.truncate(NOW.minusHours(3));
+        service.apply(readingRepository.saveAll(List.of(reading(hour.plusMinutes(1), 10.0))));
+        service.apply(readingRepository.saveAll(List.of(
+                reading(hour.plusMinutes(20), 4.0), reading(hour.plusMinutes(40), 16.0))));
+
+        ReadingRollup bucket = rollupRepository.findAll().stream()
+                .filter(rollup -> rollup.getGranularity() == RollupGranularity.HOURLY)
+                .filter(rollup -> rollup.getBucketStart().equals(hour))
+                .findFirst().orElseThrow();
+        assertThat(bucket.getReadingCount()).isEqualTo(3);
+        assertThat(bucket.aggregate(WeatherMetric.TEMPERATURE).getMinimum()).isEqualTo(4.0);
+        assertThat(bucket.aggregate(WeatherMetric.TEMPERATURE).getMaximum()).isEqualTo(16.0);
+        assertThat(bucket.aggregate(WeatherMetric.TEMPERATURE).getTotal()).isEqualTo(30.0);
+        assertThat(countsByGranularity()).containsEntry(RollupGranularity.FIVE_MINUTE, 3L)
+                .containsEntry(RollupGranularity.DAILY, 3L);
+    }
+
+    @Test
+    void rolledBackIngestLeavesNoRollups() {
+        RollupService service = service(rollupRepository);
+        service.init();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            service.apply(List.of(readingRepository.save(reading(NOW.minusMinutes(5), 20.0))));
+            status.setRollbackOnly();
+        });
+
+        assertThat(readingRepository.count()).isZero();
+        assertThat(rollupRepository.count()).isZero();
+    }
+
+    @Test
+    void interruptedBackfillResumesWithoutCountingReadingsTwice() {
+        List<WeatherReading> existing = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            existing.add(reading(NOW.minusMinutes(7L * i + 1), 20.0 + i));
+        }
+        readingRepository.saveAll(existing);
+
+        // The first chunk commits, the second fails as if the application stopped
+        AtomicInteger merges = new AtomicInteger();
+        ReadingRollupRepository failing = mock(ReadingRollupRepository.class, delegatesTo(rollupRepository));
+        doAnswer(invocation -> {
+            if (merges.incrementAndGet() > 1) {
+                throw new DataAccessResourceFailureException("connection lost");
+            }
+            rollupRepository.mergeAll(invocation.getArgument(0));
+            return null;
+        }).when(failing).mergeAll(anyCollection());
+
+        RollupService first = service(failing);
+        first.init();
+        first.backfillExistingReadings();
+
+        assertThat(backfillRepository.existsIncomplete()).isTrue();
+        assertThat(backfillRepository.findAll()).allSatisfy(backfill ->
+                assertThat(backfill.getProcessedUpTo()).isEqualTo(existing.get(9).getId()));
+        assertThat(countsByGranularity()).containsEntry(RollupGranularity.HOURLY, 10L);
+
+        RollupService restarted = service(rollupRepository);
+        restarted.init();
+        restarted.backfillExistingReadings();
+
+        assertThat(backfillRepository.existsIncomplete()).isFalse();
+        assertThat(backfillRepository.findAll()).extracting(RollupBackfill::getCutoffId)
+                .containsOnly(existing.get(24).getId());
+        assertThat(countsByGranularity())
+                .containsEntry(RollupGranularity.FIVE_MINUTE, 25L)
+                .containsEntry(RollupGranularity.HOURLY, 25L)
+                .containsEntry(RollupGranularity.DAILY, 25L);
+    }
+
+    @Test
+    void readingsAfterTheBackfillCutoffAreLeftToIngest() {
+        readingRepository.saveAll(List.of(reading(NOW.minusMinutes(30), 20.0), reading(NOW.minusMinutes(20), 21.0)));
+        RollupService service = service(rollupRepository);
+        service.init();
+
+        // Ingested while the backfill has not run yet
+        service.apply(readingRepository.saveAll(List.of(reading(NOW.minusMinutes(10), 22.0))));
+        service.backfillExistingReadings();
+
+        assertThat(countsByGranularity()).containsEntry(RollupGranularity.DAILY, 3L);
+    }
+
+    private RollupService service(ReadingRollupRepository rollups) {
+        RollupService service = new RollupService(rollups, readingRepository, backfillRepository,
+                new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(service, "backfillOnStartup", true);
+        ReflectionTestUtils.setField(service, "backfillChunkSize", 10);
+        ReflectionTestUtils.setField(service, "fiveMinuteDays", 30);
+        ReflectionTestUtils.setField(service, "hourlyDays", 730);
+        return service;
+    }
+
+    private Map<RollupGranularity, Long> countsByGranularity() {
+        Map<RollupGranularity, Long> counts = new EnumMap<>(RollupGranularity.class);
+        for (ReadingRollup rollup : rollupRepository.findAll()) {
+            counts.merge(rollup.getGranularity(), rollup.getReadingCount(), Long::sum);
+        }
+        return counts;
+    }
+
+    private static WeatherReading reading(LocalDateTime timestamp, double temperature) {
+        return WeatherReading.builder()
+                .stationId("station-01")
+                .timestamp(timestamp)
+                .temperature(temperature)
+                .build();
+    }
+}
@@ -0,0 +1,122 @@
+package com.tempest.service;
+
+import com.tempest.entity.WeatherStation;
+import com.tempest.repository.WeatherStationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class StationRegistryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private final WeatherStationRepository repository = mock(WeatherStationRepository.class);
+    private final StationRegistry registry = new StationRegistry(repository);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void stationSavedInATransactionIsRegisteredOnceItCommits() {
+        List<TransactionSynchronization> synchronizations =
+                inTransaction(() -> registry.register(station("station-01", "key-1")));
+
+        assertThat(registry.findByStationId("station-01")).isEmpty();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        assertThat(registry.findByStationId("station-01")).isPresent();
+        assertThat(registry.findByApiKey("key-1")).map(WeatherStation::getStationId).contains("station-01");
+    }
+
+    @Test
+    void rolledBackStationIsNeverRegistered() {
+        List<TransactionSynchronization> synchronizations =
+                inTransaction(() -> registry.register(station("station-01", "key-1")));
+
+        synchronizations.forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        assertThat(registry.findByStationId("station-01")).isEmpty();
+        assertThat(registry.findByApiKey("key-1")).isEmpty();
+    }
+
+    @Test
+    void callersGetCopiesThatTheRegistryNeverChanges() {
+        WeatherStation saved = station("station-01", "key-1");
+        registry.register(saved);
+        WeatherStation before = registry.findByStationId("station-01").orElseThrow();
+
+        registry.touch(List.of("station-01"), NOW);
+        before.setName("changed by a caller");
+        saved.setName("changed after saving");
+
+        assertThat(before.getLastSeen()).isNull();
+        WeatherStation after = registry.findByStationId("station-01").orElseThrow();
+        assertThat(after.getName()).isEqualTo("station-01");
+        assertThat(after.getLastSeen()).isEqualTo(NOW);
+    }
+
+    @Test
+    void reRegisteringKeepsANewerLastSeenAndMovesTheApiKey() {
+        registry.register(station("station-01", "key-1"));
+        registry.touch(List.of("station-01"), NOW);
+
+        registry.register(station("station-01", "key-2"));
+
+        assertThat(registry.findByApiKey("key-1")).isEmpty();
+        assertThat(registry.findByApiKey("key-2")).map(WeatherStation::getLastSeen).contains(NOW);
+    }
+
+    @Test
+    void lastSeenTimesThatFailToFlushAreWrittenByTheNextFlush() {
+        registry.register(station("station-01", "key-1"));
+        doThrow(new DataAccessResourceFailureException("connection lost"))
+                .doNothing()
+                .when(repository).updateLastSeen(anyMap());
+
+        registry.touch(List.of("station-01"), NOW);
+        registry.flush();
+        registry.flush();
+
+        verify(repository, times(2)).updateLastSeen(Map.of("station-01", NOW));
+        registry.flush();
+        verify(repository, times(2)).updateLastSeen(anyMap());
+    }
+
+    /**
+     * Run work with transaction synchronization active and return the synchronizations it registered.
+     */
+    private static List<TransactionSynchronization> inTransaction(Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static WeatherStation station(String stationId, String apiKey) {
+        return WeatherStation.builder()
+                .id(1L)
+                .stationId(stationId)
+                .name(stationId)
+                .apiKey(apiKey)
+                .build();
+    }
+}